@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+
+/**
+ * Coalesces items into BatchWriteItem requests.
+ *
+ * Items are collected in a bounded queue, which is flushed when it holds at least <code>batchSize</code> items or when
+ * the flush interval has elapsed. The pending items are grouped per table, as given by the
+ * {@link DynamoDBTableNameResolver}, and written with requests of at most <code>batchSize</code> items.
+ *
+ * Items reported back as unprocessed by DynamoDB, e.g. due to exceeded write capacity, are retried with exponential
+ * backoff. If the table does not exist yet, the items are written with {@link TableCreatingPutItem} instead, creating
+ * the table.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+class DynamoDBBatchWriter {
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 60;
+    private static final int MAX_ATTEMPTS = 8;
+    private static final long BACKOFF_BASE_MILLIS = 50;
+    private static final long BACKOFF_MAX_MILLIS = 5000;
+
+    private final Logger logger = LoggerFactory.getLogger(DynamoDBBatchWriter.class);
+
+    private final DynamoDBPersistenceService service;
+    private final Executor executor;
+    private final int batchSize;
+    private final BlockingQueue<DynamoDBItem<?>> queue;
+    private final ScheduledExecutorService flushScheduler = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory("dynamodb-writer"));
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private @Nullable ScheduledFuture<?> flushJob;
+    // offer() queues items while holding the read lock, so none is queued after stop() has cleared running
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+    private boolean running = false;
+
+    /**
+     * @param service persistence service providing the client and tables
+     * @param batchSize the number of queued items which triggers a flush, and the maximum number of items per request
+     * @param queueSize the maximum number of queued items
+     */
+    DynamoDBBatchWriter(DynamoDBPersistenceService service, int batchSize, int queueSize) {
+        this.service = service;
+        this.executor = service.getExecutor();
+        this.batchSize = Math.min(batchSize, DynamoDBConfig.MAX_BATCH_SIZE);
+        this.queue = new ArrayBlockingQueue<>(Math.max(queueSize, batchSize));
+    }
+
+    /**
+     * Starts the periodic flush.
+     *
+     * @param interval maximum time in milliseconds an item stays in the queue
+     */
+    void start(long interval) {
+        setRunning(true);
+        flushJob = flushScheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        logger.debug("DynamoDB batch writer started with batchSize={} interval={} ms", batchSize, interval);
+    }
+
+    /**
+     * Stops the periodic flush and writes all items still pending in the queue.
+     */
+    void stop() {
+        setRunning(false);
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        try {
+            flushScheduler.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Final flush of DynamoDB batch writer rejected, writer already stopped");
+        }
+        flushScheduler.shutdown();
+        try {
+            if (!flushScheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Timeout while flushing, {} items have not been stored in DynamoDB", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Adds an item to the write queue.
+     *
+     * @param dto the item
+     * @return <code>false</code> if the queue is full or the writer is stopped, the caller has to store the item
+     *         itself in this case
+     */
+    boolean offer(DynamoDBItem<?> dto) {
+        runningLock.readLock().lock();
+        try {
+            if (!running || !queue.offer(dto)) {
+                return false;
+            }
+        } finally {
+            runningLock.readLock().unlock();
+        }
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flushScheduler.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Flush of DynamoDB batch writer rejected, writer is stopping");
+            }
+        }
+        return true;
+    }
+
+    private void setRunning(boolean running) {
+        runningLock.writeLock().lock();
+        try {
+            this.running = running;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+    }
+
+    private void flush() {
+        flushRequested.set(false);
+        int queueDepth = queue.size();
+        if (queueDepth == 0) {
+            return;
+        }
+        DynamoDBTableNameResolver tableNameResolver = service.getTableNameResolver();
+        if (tableNameResolver == null) {
+            logger.warn("DynamoDB client not ready. {} items are waiting to be stored.", queueDepth);
+            return;
+        }
+
+        List<DynamoDBItem<?>> pending = new ArrayList<>(queueDepth);
+        queue.drainTo(pending);
+
+        // A request must not contain the same key twice, the last value wins as it would with consecutive PutItems
+        Map<String, Map<String, DynamoDBItem<?>>> itemsByTable = new LinkedHashMap<>();
+        for (DynamoDBItem<?> dto : pending) {
+            itemsByTable.computeIfAbsent(tableNameResolver.fromItem(dto), k -> new LinkedHashMap<>())
+                    .put(dto.getName() + '\0' + dto.getTime().toInstant().toEpochMilli(), dto);
+        }
+
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (Entry<String, Map<String, DynamoDBItem<?>>> entry : itemsByTable.entrySet()) {
+            List<DynamoDBItem<?>> items = new ArrayList<>(entry.getValue().values());
+            for (int from = 0; from < items.size(); from += batchSize) {
+                List<DynamoDBItem<?>> batch = new ArrayList<>(
+                        items.subList(from, Math.min(from + batchSize, items.size())));
+                writes.add(writeBatch(entry.getKey(), batch, 1));
+            }
+        }
+        try {
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            logger.warn("Unexpected error when writing batches: {}", e.getMessage());
+        }
+        logger.debug("DynamoDB batch writer stored {} items into {} tables with {} requests", pending.size(),
+                itemsByTable.size(), writes.size());
+    }
+
+    private CompletableFuture<Void> writeBatch(String tableName, List<DynamoDBItem<?>> items, int attempt) {
+        DynamoDbEnhancedAsyncClient client = service.getClient();
+        if (client == null) {
+            logger.warn("DynamoDB client not available, {} items for table {} have not been stored", items.size(),
+                    tableName);
+            return CompletableFuture.completedFuture(null);
+        }
+        List<DynamoDBBigDecimalItem> numberItems = new ArrayList<>();
+        List<DynamoDBStringItem> stringItems = new ArrayList<>();
+        for (DynamoDBItem<?> dto : items) {
+            if (dto instanceof DynamoDBBigDecimalItem numberItem) {
+                numberItems.add(numberItem);
+            } else if (dto instanceof DynamoDBStringItem stringItem) {
+                stringItems.add(stringItem);
+            }
+        }
+
+        BatchWriteItemEnhancedRequest.Builder request = BatchWriteItemEnhancedRequest.builder();
+        final @Nullable DynamoDbAsyncTable<DynamoDBBigDecimalItem> numberTable = numberItems.isEmpty() ? null
+                : service.getTable(DynamoDBBigDecimalItem.class);
+        final @Nullable DynamoDbAsyncTable<DynamoDBStringItem> stringTable = stringItems.isEmpty() ? null
+                : service.getTable(DynamoDBStringItem.class);
+        if (numberTable != null) {
+            request.addWriteBatch(toWriteBatch(DynamoDBBigDecimalItem.class, numberTable, numberItems));
+        }
+        if (stringTable != null) {
+            request.addWriteBatch(toWriteBatch(DynamoDBStringItem.class, stringTable, stringItems));
+        }
+
+        return client.batchWriteItem(request.build()).handleAsync((result, exception) -> {
+            if (exception != null) {
+                Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                        ? exception.getCause()
+                        : exception;
+                if (cause instanceof ResourceNotFoundException) {
+                    logger.trace("BatchWriteItem: Table '{}' was not present. Writing {} items with PutItem, "
+                            + "creating the table first", tableName, items.size());
+                    return putItems(items);
+                }
+                logger.warn("BatchWriteItem: failed (final) with {} {}. {} items for table {} have not been stored.",
+                        cause.getClass().getSimpleName(), cause.getMessage(), items.size(), tableName);
+                return CompletableFuture.<Void> completedFuture(null);
+            }
+
+            List<DynamoDBItem<?>> unprocessed = new ArrayList<>();
+            if (numberTable != null) {
+                unprocessed.addAll(result.unprocessedPutItemsForTable(numberTable));
+            }
+            if (stringTable != null) {
+                unprocessed.addAll(result.unprocessedPutItemsForTable(stringTable));
+            }
+            if (unprocessed.isEmpty()) {
+                logger.trace("BatchWriteItem: {} items were successfully written to table {} (attempt {})",
+                        items.size(), tableName, attempt);
+                return CompletableFuture.<Void> completedFuture(null);
+            } else if (attempt >= MAX_ATTEMPTS) {
+                logger.warn("BatchWriteItem: {} items for table {} remained unprocessed after {} attempts. Aborting.",
+                        unprocessed.size(), tableName, attempt);
+                return CompletableFuture.<Void> completedFuture(null);
+            }
+            long delay = backoff(attempt);
+            logger.debug("BatchWriteItem: {} of {} items for table {} were unprocessed, retrying in {} ms",
+                    unprocessed.size(), items.size(), tableName, delay);
+            return CompletableFuture
+                    .supplyAsync(() -> writeBatch(tableName, unprocessed, attempt + 1),
+                            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor))
+                    .thenCompose(Function.identity());
+        }, executor).thenCompose(Function.identity());
+    }
+
+    private static <T extends DynamoDBItem<?>> WriteBatch toWriteBatch(Class<T> dtoClass,
+            DynamoDbAsyncTable<T> table, List<T> items) {
+        WriteBatch.Builder<T> builder = WriteBatch.builder(dtoClass).mappedTableResource(table);
+        items.forEach(builder::addPutItem);
+        return builder.build();
+    }
+
+    private CompletableFuture<Void> putItems(List<DynamoDBItem<?>> items) {
+        // concurrent table creation is resolved by TableCreatingPutItem, only one of the requests creates the table
+        return CompletableFuture.allOf(items.stream().map(dto -> service.putItemAsync(dto).exceptionally(e -> null))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Exponential backoff with full jitter
+     *
+     * @param attempt number of the failed attempt, starting from 1
+     * @return delay in milliseconds before the next attempt
+     */
+    private static long backoff(int attempt) {
+        long ceiling = Math.min(BACKOFF_MAX_MILLIS, BACKOFF_BASE_MILLIS << Math.min(attempt, 16));
+        return ThreadLocalRandom.current().nextLong(BACKOFF_BASE_MILLIS, ceiling + 1);
+    }
+}
@@ -49,6 +49,13 @@ public class DynamoDBConfig {
     public static final String DEFAULT_TABLE_NAME = "openhab";
     public static final long DEFAULT_READ_CAPACITY_UNITS = 1;
     public static final long DEFAULT_WRITE_CAPACITY_UNITS = 1;
+    public static final int DEFAULT_BATCH_SIZE = 0;
+    public static final long DEFAULT_BATCH_INTERVAL = 1000;
+    public static final int DEFAULT_BATCH_QUEUE_SIZE = 10000;
+    /**
+     * Maximum number of items in a single BatchWriteItem request, as defined by DynamoDB
+     */
+    public static final int MAX_BATCH_SIZE = 25;
     private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDBConfig.class);
 
     private long readCapacityUnits;
@@ -60,6 +67,9 @@ public class DynamoDBConfig {
     private String table;
     private String tablePrefixLegacy;
     private @Nullable Integer expireDays;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private long batchInterval = DEFAULT_BATCH_INTERVAL;
+    private int batchQueueSize = DEFAULT_BATCH_QUEUE_SIZE;
 
     /**
      *
@@ -168,31 +178,59 @@ public class DynamoDBConfig {
                 }
             }
 
+            final int batchSize = (int) parseLong(config, "batchSize", DEFAULT_BATCH_SIZE);
+            if (batchSize < 0) {
+                LOGGER.error("batchSize should be non-negative integer");
+                return null;
+            } else if (batchSize > MAX_BATCH_SIZE) {
+                LOGGER.warn("batchSize {} exceeds the DynamoDB limit, using {}", batchSize, MAX_BATCH_SIZE);
+            }
+            final long batchInterval = parseLong(config, "batchInterval", DEFAULT_BATCH_INTERVAL);
+            final int batchQueueSize = (int) parseLong(config, "batchQueueSize", DEFAULT_BATCH_QUEUE_SIZE);
+
+            final DynamoDBConfig dbConfig;
             switch (tableRevision) {
                 case NEW:
                     LOGGER.debug("Using new DynamoDB table schema");
-                    return DynamoDBConfig.newSchema(region, credentials, retryMode.map(AwsRetryPolicy::forRetryMode),
-                            table, readCapacityUnits, writeCapacityUnits, expireDays);
+                    dbConfig = DynamoDBConfig.newSchema(region, credentials,
+                            retryMode.map(AwsRetryPolicy::forRetryMode), table, readCapacityUnits, writeCapacityUnits,
+                            expireDays);
+                    break;
                 case LEGACY:
                     LOGGER.warn(
                             "Using legacy DynamoDB table schema. It is recommended to transition to new schema by defining 'table' parameter and not configuring 'tablePrefix'");
-                    return DynamoDBConfig.legacySchema(region, credentials, retryMode.map(AwsRetryPolicy::forRetryMode),
-                            tablePrefixLegacy, readCapacityUnits, writeCapacityUnits);
+                    dbConfig = DynamoDBConfig.legacySchema(region, credentials,
+                            retryMode.map(AwsRetryPolicy::forRetryMode), tablePrefixLegacy, readCapacityUnits,
+                            writeCapacityUnits);
+                    break;
                 case MAYBE_LEGACY:
                     LOGGER.debug(
                             "Unclear whether we should use new legacy DynamoDB table schema. It is recommended to explicitly define new 'table' parameter. The correct table schema will be detected at runtime.");
-                    return DynamoDBConfig.maybeLegacySchema(region, credentials,
+                    dbConfig = DynamoDBConfig.maybeLegacySchema(region, credentials,
                             retryMode.map(AwsRetryPolicy::forRetryMode), table, tablePrefixLegacy, readCapacityUnits,
                             writeCapacityUnits, expireDays);
+                    break;
                 default:
                     throw new IllegalStateException("Unhandled enum. Bug");
             }
+            dbConfig.batchSize = Math.min(batchSize, MAX_BATCH_SIZE);
+            dbConfig.batchInterval = Math.max(1, batchInterval);
+            dbConfig.batchQueueSize = Math.max(dbConfig.batchSize, batchQueueSize);
+            return dbConfig;
         } catch (Exception e) {
             LOGGER.error("Error with configuration: {} {}", e.getClass().getSimpleName(), e.getMessage());
             return null;
         }
     }
 
+    private static long parseLong(Map<String, Object> config, String key, long defaultValue) {
+        Object value = config.get(key);
+        if (value == null || value.toString().isBlank()) {
+            return defaultValue;
+        }
+        return Long.parseLong(value.toString());
+    }
+
     private static DynamoDBConfig newSchema(Region region, AwsCredentials credentials,
             Optional<RetryPolicy> retryPolicy, String table, long readCapacityUnits, long writeCapacityUnits,
             @Nullable Integer expireDays) {
@@ -263,4 +301,25 @@ public class DynamoDBConfig {
     public @Nullable Integer getExpireDays() {
         return expireDays;
     }
+
+    /**
+     * Maximum number of items per BatchWriteItem request. 0 means that items are written one by one with PutItem.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Maximum time in milliseconds an item waits for a batch write
+     */
+    public long getBatchInterval() {
+        return batchInterval;
+    }
+
+    /**
+     * Maximum number of items waiting for a batch write
+     */
+    public int getBatchQueueSize() {
+        return batchQueueSize;
+    }
 }
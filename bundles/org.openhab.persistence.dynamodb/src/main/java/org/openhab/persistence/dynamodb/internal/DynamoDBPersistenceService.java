@@ -119,6 +119,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             2);
 
     private @Nullable URI endpointOverride;
+    private @Nullable DynamoDBBatchWriter batchWriter;
 
     void overrideConfig(AwsRequestOverrideConfiguration.Builder config) {
         config.apiCallAttemptTimeout(TIMEOUT_API_CALL_ATTEMPT).apiCallTimeout(TIMEOUT_API_CALL);
@@ -157,6 +158,11 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         return endpointOverride;
     }
 
+    @Nullable
+    DynamoDbEnhancedAsyncClient getClient() {
+        return client;
+    }
+
     @Nullable
     DynamoDbAsyncClient getLowLevelClient() {
         return lowLevelClient;
@@ -197,6 +203,13 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             return;
         }
 
+        if (localDbConfig.getBatchSize() > 0) {
+            DynamoDBBatchWriter localBatchWriter = new DynamoDBBatchWriter(this, localDbConfig.getBatchSize(),
+                    localDbConfig.getBatchQueueSize());
+            localBatchWriter.start(localDbConfig.getBatchInterval());
+            batchWriter = localBatchWriter;
+        }
+
         isProperlyConfigured = true;
         logger.debug("dynamodb persistence service activated");
     }
@@ -277,7 +290,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         }
     }
 
-    private <T extends DynamoDBItem<?>> DynamoDbAsyncTable<T> getTable(Class<T> dtoClass) {
+    <T extends DynamoDBItem<?>> DynamoDbAsyncTable<T> getTable(Class<T> dtoClass) {
         DynamoDbEnhancedAsyncClient localClient = client;
         DynamoDBTableNameResolver localTableNameResolver = tableNameResolver;
         if (!ensureClient() || localClient == null || localTableNameResolver == null) {
@@ -316,6 +329,12 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     }
 
     private void disconnect() {
+        DynamoDBBatchWriter localBatchWriter = batchWriter;
+        if (localBatchWriter != null) {
+            // write pending items while the client is still available
+            localBatchWriter.stop();
+            batchWriter = null;
+        }
         DynamoDbAsyncClient localLowLevelClient = lowLevelClient;
         if (client == null || localLowLevelClient == null) {
             return;
@@ -566,27 +585,40 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             }
             logger.trace("store() called with item {} {} '{}', which was converted to DTO {}",
                     copiedItem.getClass().getSimpleName(), effectiveName, copiedItem.getState(), dto);
-            dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
-
-                @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(
-                        DynamoDBBigDecimalItem dynamoBigDecimalItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoBigDecimalItem,
-                            getTable(DynamoDBBigDecimalItem.class));
-                }
-
-                @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoStringItem,
-                            getTable(DynamoDBStringItem.class));
-                }
-            }).putItemAsync();
+            DynamoDBBatchWriter localBatchWriter = batchWriter;
+            if (localBatchWriter != null && localBatchWriter.offer(dto)) {
+                return;
+            }
+            putItemAsync(dto);
         }, executor).exceptionally(e -> {
             logger.error("Unexcepted error", e);
             return null;
         });
     }
 
+    /**
+     * Write a single item with PutItem, creating the table if needed
+     *
+     * @param dto item to write
+     * @return future completing when the item has been written
+     */
+    CompletableFuture<Void> putItemAsync(DynamoDBItem<?> dto) {
+        return dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
+
+            @Override
+            public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBBigDecimalItem dynamoBigDecimalItem) {
+                return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoBigDecimalItem,
+                        getTable(DynamoDBBigDecimalItem.class));
+            }
+
+            @Override
+            public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
+                return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoStringItem,
+                        getTable(DynamoDBStringItem.class));
+            }
+        }).putItemAsync();
+    }
+
     private Item getEffectiveItem(Item item) {
         final Item effectiveItem;
         if (item instanceof GroupItem groupItem) {
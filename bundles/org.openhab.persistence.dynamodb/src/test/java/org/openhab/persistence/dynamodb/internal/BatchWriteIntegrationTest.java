@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.StringItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+
+/**
+ * Tests storing items with BatchWriteItem requests, enabled with the batchSize parameter.
+ *
+ * More items than fit in a single request are stored, for both tables in case of the legacy schema.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class BatchWriteIntegrationTest extends BaseIntegrationTest {
+
+    public static final boolean LEGACY_MODE = false;
+    private static final String NUMBER_NAME = "batchNumber";
+    private static final String STRING_NAME = "batchString";
+    private static final int STATE_COUNT = 40;
+
+    private static @Nullable ZonedDateTime storeStart;
+
+    /**
+     * Replaces the service created by {@link BaseIntegrationTest#initService(TestInfo)}
+     */
+    @BeforeAll
+    public static void initService(TestInfo testInfo) {
+        service = newService(isLegacyTest(testInfo), true, null, null, null,
+                Map.of("batchSize", "25", "batchInterval", "100"));
+        clearData();
+    }
+
+    @SuppressWarnings("null")
+    @BeforeAll
+    public static void populateData() {
+        storeStart = ZonedDateTime.now();
+
+        NumberItem numberItem = new NumberItem(NUMBER_NAME);
+        StringItem stringItem = new StringItem(STRING_NAME);
+        ITEMS.put(NUMBER_NAME, numberItem);
+        ITEMS.put(STRING_NAME, stringItem);
+        for (int i = 0; i < STATE_COUNT; i++) {
+            numberItem.setState(new DecimalType(i));
+            stringItem.setState(new StringType("s" + i));
+            try {
+                // Add some delay to enforce different timestamps in ms accuracy
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                fail("Interrupted");
+                return;
+            }
+            service.store(numberItem);
+            service.store(stringItem);
+        }
+    }
+
+    @AfterAll
+    public static void deactivateService() {
+        DynamoDBPersistenceService localService = service;
+        if (localService != null) {
+            localService.deactivate();
+        }
+        ITEMS.remove(NUMBER_NAME);
+        ITEMS.remove(STRING_NAME);
+    }
+
+    @Test
+    public void testAllNumberStatesStored() {
+        List<State> expected = new ArrayList<>();
+        for (int i = 0; i < STATE_COUNT; i++) {
+            expected.add(new DecimalType(i));
+        }
+        waitForAssert(() -> assertEquals(expected, queryStates(NUMBER_NAME)));
+    }
+
+    @Test
+    public void testAllStringStatesStored() {
+        List<State> expected = new ArrayList<>();
+        for (int i = 0; i < STATE_COUNT; i++) {
+            expected.add(new StringType("s" + i));
+        }
+        waitForAssert(() -> assertEquals(expected, queryStates(STRING_NAME)));
+    }
+
+    @SuppressWarnings("null")
+    private List<State> queryStates(String itemName) {
+        FilterCriteria criteria = new FilterCriteria();
+        criteria.setItemName(itemName);
+        criteria.setBeginDate(Objects.requireNonNull(storeStart));
+        criteria.setOrdering(Ordering.ASCENDING);
+        criteria.setPageSize(STATE_COUNT * 2);
+        List<State> states = new ArrayList<>();
+        for (HistoricItem historicItem : service.query(criteria)) {
+            states.add(historicItem.getState());
+        }
+        return states;
+    }
+}
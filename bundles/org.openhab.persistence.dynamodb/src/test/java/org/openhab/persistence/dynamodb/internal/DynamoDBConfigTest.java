@@ -255,4 +255,39 @@ public class DynamoDBConfigTest {
         assertEquals(Optional.empty(), fromConfig.getRetryPolicy().map(RetryPolicy::retryMode));
         assertEquals(ExpectedTableSchema.MAYBE_LEGACY, fromConfig.getTableRevision());
     }
+
+    @SuppressWarnings("null")
+    @Test
+    public void testBatchDisabledByDefault() throws Exception {
+        DynamoDBConfig fromConfig = DynamoDBConfig
+                .fromConfig(mapFrom("region", "eu-west-1", "accessKey", "access1", "secretKey", "secret1"));
+        assertEquals(0, fromConfig.getBatchSize());
+        assertEquals(1000, fromConfig.getBatchInterval());
+        assertEquals(10000, fromConfig.getBatchQueueSize());
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    public void testBatchSettings() throws Exception {
+        DynamoDBConfig fromConfig = DynamoDBConfig.fromConfig(mapFrom("region", "eu-west-1", "accessKey", "access1",
+                "secretKey", "secret1", "table", "mytable", "batchSize", "10", "batchInterval", "250",
+                "batchQueueSize", "500"));
+        assertEquals(10, fromConfig.getBatchSize());
+        assertEquals(250, fromConfig.getBatchInterval());
+        assertEquals(500, fromConfig.getBatchQueueSize());
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    public void testBatchSizeIsLimitedToDynamoDBMaximum() throws Exception {
+        DynamoDBConfig fromConfig = DynamoDBConfig.fromConfig(
+                mapFrom("region", "eu-west-1", "accessKey", "access1", "secretKey", "secret1", "batchSize", "100"));
+        assertEquals(25, fromConfig.getBatchSize());
+    }
+
+    @Test
+    public void testNegativeBatchSize() throws Exception {
+        assertNull(DynamoDBConfig.fromConfig(
+                mapFrom("region", "eu-west-1", "accessKey", "access1", "secretKey", "secret1", "batchSize", "-1")));
+    }
 }
@@ -14,9 +14,9 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -24,15 +24,14 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
@@ -55,6 +54,7 @@ import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
+import org.openhab.persistence.influxdb.internal.InfluxDBWriteBuffer;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
 import org.openhab.persistence.influxdb.internal.influx2.InfluxDB2RepositoryImpl;
@@ -97,7 +97,7 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
-    private static final int COMMIT_INTERVAL = 3; // in s
+    private static final Path SPOOL_FOLDER = Path.of(OpenHAB.getUserDataFolder(), "persistence", "influxdb", "spool");
     protected static final String CONFIG_URI = "persistence:influxdb";
 
     // External dependencies
@@ -110,7 +110,9 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     // storage
     private final ScheduledFuture<?> storeJob;
-    private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final InfluxDBWriteBuffer writeBuffer;
+    // buffer metrics when writing started to fail, null while points are written
+    private InfluxDBWriteBuffer.@Nullable Metrics outageStart;
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -123,10 +125,14 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
         if (configuration.isValid()) {
+            this.writeBuffer = new InfluxDBWriteBuffer(configuration.getBufferSize(),
+                    configuration.getSpoolMaxSize() > 0 ? SPOOL_FOLDER : null,
+                    configuration.getSpoolMaxSize() * 1024L * 1024L, configuration.getDropPolicy());
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
             this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
-                    .scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL, COMMIT_INTERVAL, TimeUnit.SECONDS);
+                    .scheduleWithFixedDelay(this::commit, configuration.getCommitInterval(),
+                            configuration.getCommitInterval(), TimeUnit.SECONDS);
             serviceActivated = true;
         } else {
             throw new IllegalArgumentException("Configuration invalid.");
@@ -154,8 +160,12 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         storeJob.cancel(false);
         commit(); // ensure we at least tried to store the data;
 
-        if (!pointsQueue.isEmpty()) {
-            logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
+        int remaining = writeBuffer.size();
+        int lost = writeBuffer.close();
+        if (lost > 0) {
+            logger.warn("InfluxDB failed to finally store {} points.", lost);
+        } else if (remaining > 0) {
+            logger.info("InfluxDB spooled {} points to disk, they will be stored after the next start.", remaining);
         }
 
         influxDBRepository.disconnect();
@@ -209,10 +219,10 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 logger.trace("Ignoring item {}, conversion to an InfluxDB point failed.", item.getName());
                 return;
             }
-            if (pointsQueue.offer(point)) {
+            if (writeBuffer.add(point)) {
                 logger.trace("Queued {} for item {}", point, item);
             } else {
-                logger.warn("Failed to queue {} for item {}", point, item);
+                logger.debug("Failed to queue {} for item {}", point, item);
             }
         });
     }
@@ -284,17 +294,44 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     }
 
     private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
-            List<InfluxPoint> points = new ArrayList<>();
-            pointsQueue.drainTo(points);
-            if (!influxDBRepository.write(points)) {
-                logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
-                pointsQueue.addAll(points);
-                influxDBRepository.disconnect();
-            } else {
+        boolean written = true;
+        if (!writeBuffer.isEmpty()) {
+            written = checkConnection();
+            List<InfluxPoint> points;
+            while (written && !(points = writeBuffer.nextBatch(configuration.getBatchSize())).isEmpty()) {
+                if (!influxDBRepository.write(points)) {
+                    logger.warn("Failed to write batch of {} elements, keeping {} elements buffered.", points.size(),
+                            writeBuffer.size());
+                    influxDBRepository.disconnect();
+                    written = false;
+                    break;
+                }
+                writeBuffer.acknowledge();
                 logger.trace("Wrote {} elements to database", points.size());
             }
         }
+        writeBuffer.flush();
+        InfluxDBWriteBuffer.Metrics metrics = writeBuffer.getMetrics();
+        logger.trace("Write buffer: {}", metrics);
+        updateOutage(written, metrics);
+    }
+
+    /**
+     * Remembers the buffer metrics when writing fails and logs how many points were spooled to disk or dropped once
+     * all points buffered during the outage have been written.
+     */
+    private void updateOutage(boolean written, InfluxDBWriteBuffer.Metrics metrics) {
+        InfluxDBWriteBuffer.Metrics outageStart = this.outageStart;
+        if (!written) {
+            if (outageStart == null) {
+                this.outageStart = metrics;
+            }
+        } else if (outageStart != null) {
+            this.outageStart = null;
+            logger.info("Wrote all points buffered while InfluxDB was unavailable, {} points were spooled to disk and "
+                    + "{} points were dropped.", metrics.spooledTotal() - outageStart.spooledTotal(),
+                    metrics.droppedTotal() - outageStart.droppedTotal());
+        }
     }
 
     /**
@@ -12,6 +12,7 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.StringJoiner;
 
@@ -39,6 +40,12 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String BUFFER_SIZE_PARAM = "bufferSize";
+    public static final String SPOOL_MAX_SIZE_PARAM = "spoolMaxSize";
+    public static final String DROP_POLICY_PARAM = "dropPolicy";
+    public static final String COMMIT_INTERVAL_PARAM = "commitInterval";
+    public static final String BATCH_SIZE_PARAM = "batchSize";
+    public static final String GZIP_PARAM = "gzip";
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
     private final String user;
@@ -51,6 +58,12 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final int bufferSize;
+    private final int spoolMaxSize;
+    private final InfluxDBWriteBuffer.DropPolicy dropPolicy;
+    private final int commitInterval;
+    private final int batchSize;
+    private final boolean gzip;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = ConfigParser.valueAsOrElse(config.get(URL_PARAM), String.class, "http://127.0.0.1:8086");
@@ -64,6 +77,21 @@ public class InfluxDBConfiguration {
         addCategoryTag = ConfigParser.valueAsOrElse(config.get(ADD_CATEGORY_TAG_PARAM), Boolean.class, false);
         addLabelTag = ConfigParser.valueAsOrElse(config.get(ADD_LABEL_TAG_PARAM), Boolean.class, false);
         addTypeTag = ConfigParser.valueAsOrElse(config.get(ADD_TYPE_TAG_PARAM), Boolean.class, false);
+        bufferSize = Math.max(ConfigParser.valueAsOrElse(config.get(BUFFER_SIZE_PARAM), Integer.class, 100000), 1);
+        spoolMaxSize = Math.max(ConfigParser.valueAsOrElse(config.get(SPOOL_MAX_SIZE_PARAM), Integer.class, 100), 0);
+        dropPolicy = parseDropPolicy(ConfigParser.valueAsOrElse(config.get(DROP_POLICY_PARAM), String.class, "oldest"));
+        commitInterval = Math.max(ConfigParser.valueAsOrElse(config.get(COMMIT_INTERVAL_PARAM), Integer.class, 3), 1);
+        batchSize = Math.max(ConfigParser.valueAsOrElse(config.get(BATCH_SIZE_PARAM), Integer.class, 5000), 1);
+        gzip = ConfigParser.valueAsOrElse(config.get(GZIP_PARAM), Boolean.class, false);
+    }
+
+    private InfluxDBWriteBuffer.DropPolicy parseDropPolicy(String value) {
+        try {
+            return InfluxDBWriteBuffer.DropPolicy.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid drop policy {}, dropping the oldest points", value);
+            return InfluxDBWriteBuffer.DropPolicy.OLDEST;
+        }
     }
 
     private InfluxDBVersion parseInfluxVersion(@Nullable String value) {
@@ -154,12 +182,44 @@ public class InfluxDBConfiguration {
         return version;
     }
 
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return the maximum size of the spool in MB, 0 if the spool is disabled
+     */
+    public int getSpoolMaxSize() {
+        return spoolMaxSize;
+    }
+
+    public InfluxDBWriteBuffer.DropPolicy getDropPolicy() {
+        return dropPolicy;
+    }
+
+    /**
+     * @return the interval between writes in seconds
+     */
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
     @Override
     public String toString() {
         return "InfluxDBConfiguration{url='" + url + "', user='" + user + "', password='" + password.length()
                 + " chars', token='" + token.length() + " chars', databaseName='" + databaseName
                 + "', retentionPolicy='" + retentionPolicy + "', version=" + version + ", replaceUnderscore="
                 + replaceUnderscore + ", addCategoryTag=" + addCategoryTag + ", addTypeTag=" + addTypeTag
-                + ", addLabelTag=" + addLabelTag + '}';
+                + ", addLabelTag=" + addLabelTag + ", bufferSize=" + bufferSize + ", spoolMaxSize=" + spoolMaxSize
+                + ", dropPolicy=" + dropPolicy + ", commitInterval=" + commitInterval + ", batchSize=" + batchSize
+                + ", gzip=" + gzip + '}';
     }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.FIELD_VALUE_NAME;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serializes {@link InfluxPoint}s to the InfluxDB line protocol with millisecond precision.
+ *
+ * Values are written with the same field types as the InfluxDB clients use: integers for {@link Integer} and
+ * {@link Long}, floats for other numbers, booleans and strings. The buffer is reused between batches to avoid
+ * creating intermediate objects for every point.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBLineProtocol {
+    private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBLineProtocol.class);
+
+    private StringBuilder buffer = new StringBuilder(4096);
+
+    /**
+     * Serializes a batch of points. Points with values which cannot be represented are discarded.
+     *
+     * @param points the points
+     * @return the points as lines of the line protocol
+     */
+    public synchronized String format(List<InfluxPoint> points) {
+        StringBuilder buffer = this.buffer;
+        buffer.setLength(0);
+        for (InfluxPoint point : points) {
+            int start = buffer.length();
+            if (!appendPoint(buffer, point)) {
+                buffer.setLength(start);
+                logger.warn("Could not convert {}, discarding this datapoint", point);
+            }
+        }
+        String lines = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            // don't keep the memory of an exceptionally large batch
+            this.buffer = new StringBuilder(4096);
+        }
+        return lines;
+    }
+
+    private boolean appendPoint(StringBuilder buffer, InfluxPoint point) {
+        if (buffer.length() > 0) {
+            buffer.append('\n');
+        }
+        appendEscaped(buffer, point.getMeasurementName(), false);
+        Map<String, String> tags = point.getTags();
+        String[] tagNames = tags.keySet().toArray(String[]::new);
+        // sorted tags are recommended by InfluxDB for the best performance
+        Arrays.sort(tagNames);
+        for (String tagName : tagNames) {
+            String tagValue = tags.get(tagName);
+            if (tagName.isEmpty() || tagValue == null || tagValue.isEmpty()) {
+                continue;
+            }
+            buffer.append(',');
+            appendEscaped(buffer, tagName, true);
+            buffer.append('=');
+            appendEscaped(buffer, tagValue, true);
+        }
+        buffer.append(' ').append(FIELD_VALUE_NAME).append('=');
+        if (!appendValue(buffer, point.getValue())) {
+            return false;
+        }
+        buffer.append(' ').append(point.getTime().toEpochMilli());
+        return true;
+    }
+
+    private boolean appendValue(StringBuilder buffer, Object value) {
+        if (value instanceof String string) {
+            buffer.append('"');
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                if (c == '"' || c == '\\') {
+                    buffer.append('\\');
+                }
+                buffer.append(c);
+            }
+            buffer.append('"');
+        } else if (value instanceof Integer || value instanceof Long) {
+            buffer.append(value).append('i');
+        } else if (value instanceof BigDecimal decimal) {
+            buffer.append(decimal.toPlainString());
+        } else if (value instanceof Number number) {
+            double d = number.doubleValue();
+            if (!Double.isFinite(d)) {
+                return false;
+            }
+            buffer.append(BigDecimal.valueOf(d).toPlainString());
+        } else if (value instanceof Boolean bool) {
+            buffer.append(bool.booleanValue());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void appendEscaped(StringBuilder buffer, String value, boolean escapeEquals) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case ',', ' ' -> buffer.append('\\').append(c);
+                case '=' -> buffer.append(escapeEquals ? "\\=" : "=");
+                // line protocol has no escape sequences for line breaks and tabs, a line break would end the line
+                case '\n', '\r', '\t' -> buffer.append("\\ ");
+                default -> buffer.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only log of {@link InfluxPoint}s on disk, split into segment files.
+ *
+ * Points are read in the order they were appended. Read points are only removed when the read is acknowledged, and
+ * segments are deleted when all their points have been acknowledged. Segments are read in the order of the sequence
+ * number in their file name, so segments left by a previous run are read first, and points older than all spooled
+ * ones can be prepended in a segment with a lower number. When the spool is full, space is made by deleting the
+ * oldest segment, which holds about an eighth of the maximum size. The class is not thread-safe.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+class InfluxDBSpool {
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final int SEGMENT_COUNT = 8;
+    private static final long MIN_SEGMENT_SIZE = 64 * 1024;
+
+    private static final byte VALUE_STRING = 0;
+    private static final byte VALUE_DECIMAL = 1;
+    private static final byte VALUE_INTEGER = 2;
+    private static final byte VALUE_LONG = 3;
+    private static final byte VALUE_DOUBLE = 4;
+    private static final byte VALUE_BOOLEAN = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBSpool.class);
+
+    private final Path folder;
+    private final long maxSize;
+    private final long segmentSize;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSequence = 0;
+    private @Nullable DataOutputStream output;
+    private long size = 0;
+    private int points = 0;
+
+    private @Nullable Segment readSegment;
+    private long readOffset;
+    private int readPoints;
+
+    private static class Segment {
+        private final Path path;
+        private final long sequence;
+        private long size;
+        private int points;
+        // position and number of the points which have already been acknowledged
+        private long offset;
+        private int acknowledged;
+
+        private Segment(Path path, long sequence) {
+            this.path = path;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * @param folder the folder of the segment files
+     * @param maxSize the maximum size of all segments in bytes
+     */
+    InfluxDBSpool(Path folder, long maxSize) {
+        this.folder = folder;
+        this.maxSize = maxSize;
+        this.segmentSize = Math.max(maxSize / SEGMENT_COUNT, MIN_SEGMENT_SIZE);
+        recover();
+    }
+
+    /**
+     * Appends a point.
+     *
+     * @param point the point to append
+     * @return <code>false</code> if the point could not be appended, because the spool is full or the write failed
+     */
+    boolean append(InfluxPoint point) {
+        byte[] record;
+        try {
+            record = encode(point);
+        } catch (IOException e) {
+            logger.warn("Could not spool {}: {}", point, e.getMessage());
+            return false;
+        }
+        if (size + record.length > maxSize) {
+            return false;
+        }
+        Segment segment = segments.peekLast();
+        DataOutputStream output = this.output;
+        try {
+            if (segment == null || output == null || segment.size + record.length > segmentSize) {
+                closeOutput();
+                segment = newSegment(nextSequence++);
+                Files.createDirectories(folder);
+                output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(segment.path,
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)));
+                this.output = output;
+                segments.add(segment);
+            }
+            output.write(record);
+        } catch (IOException e) {
+            logger.warn("Could not spool {} to '{}': {}", point, folder, e.getMessage());
+            closeOutput();
+            return false;
+        }
+        segment.size += record.length;
+        segment.points++;
+        size += record.length;
+        points++;
+        return true;
+    }
+
+    /**
+     * Writes points to a new segment which is read before all other segments. This is used for points which are
+     * older than the spooled ones, e.g. the points still held in memory on shutdown.
+     *
+     * @param points the points to write, in the order they should be read
+     * @return the number of points which could not be written, because the spool is full or the write failed
+     */
+    int prepend(List<InfluxPoint> points) {
+        if (points.isEmpty()) {
+            return 0;
+        }
+        Segment first = segments.peekFirst();
+        Segment segment = newSegment(first != null ? first.sequence - 1 : nextSequence++);
+        try {
+            Files.createDirectories(folder);
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                    segment.path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)))) {
+                for (InfluxPoint point : points) {
+                    byte[] record = encode(point);
+                    if (size + segment.size + record.length > maxSize) {
+                        break;
+                    }
+                    output.write(record);
+                    segment.size += record.length;
+                    segment.points++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not spool {} points to '{}': {}", points.size(), folder, e.getMessage());
+            segment.size = 0;
+            segment.points = 0;
+        }
+        if (segment.points == 0) {
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                logger.debug("Could not delete empty spool segment '{}': {}", segment.path, e.getMessage());
+            }
+            return points.size();
+        }
+        // a pending read refers to the segment which is no longer the first one
+        readSegment = null;
+        segments.addFirst(segment);
+        size += segment.size;
+        this.points += segment.points;
+        return points.size() - segment.points;
+    }
+
+    /**
+     * Reads the oldest points which have not been acknowledged yet. Points returned by an earlier read which was not
+     * acknowledged are returned again.
+     *
+     * @param maxPoints the maximum number of points to read
+     * @return the points, which are only from a single segment
+     */
+    List<InfluxPoint> read(int maxPoints) {
+        Segment segment = segments.peekFirst();
+        List<InfluxPoint> result = new ArrayList<>();
+        readSegment = segment;
+        if (segment == null) {
+            return result;
+        }
+        flush();
+        readOffset = segment.offset;
+        readPoints = 0;
+        try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+            channel.position(segment.offset);
+            DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            while (result.size() < maxPoints && readPoints < segment.points - segment.acknowledged) {
+                byte[] record = new byte[input.readInt()];
+                input.readFully(record);
+                result.add(decode(record));
+                readOffset += Integer.BYTES + record.length;
+                readPoints++;
+            }
+        } catch (IOException | RuntimeException e) {
+            // a damaged segment can never be read, so the rest of it is discarded
+            logger.warn("Could not read spooled points from '{}', discarding {} points: {}", segment.path,
+                    segment.points - segment.acknowledged - readPoints, e.getMessage());
+            readOffset = segment.size;
+            readPoints = segment.points - segment.acknowledged;
+        }
+        return result;
+    }
+
+    /**
+     * Removes the points returned by the last read.
+     */
+    void acknowledge() {
+        Segment segment = readSegment;
+        readSegment = null;
+        if (segment == null || segment != segments.peekFirst()) {
+            // the segment was dropped in the meantime
+            return;
+        }
+        segment.offset = readOffset;
+        segment.acknowledged += readPoints;
+        points -= readPoints;
+        if (segment.acknowledged >= segment.points) {
+            removeFirst();
+        }
+    }
+
+    /**
+     * Deletes the oldest segment to make room for new points.
+     *
+     * @return the number of points which were dropped
+     */
+    int dropOldest() {
+        Segment segment = segments.peekFirst();
+        if (segment == null) {
+            return 0;
+        }
+        int dropped = segment.points - segment.acknowledged;
+        points -= dropped;
+        removeFirst();
+        return dropped;
+    }
+
+    boolean isEmpty() {
+        return points == 0;
+    }
+
+    int size() {
+        return points;
+    }
+
+    long sizeInBytes() {
+        return size;
+    }
+
+    void flush() {
+        DataOutputStream output = this.output;
+        if (output != null) {
+            try {
+                output.flush();
+            } catch (IOException e) {
+                logger.warn("Could not write spooled points to '{}': {}", folder, e.getMessage());
+            }
+        }
+    }
+
+    void close() {
+        closeOutput();
+    }
+
+    private void removeFirst() {
+        Segment segment = segments.removeFirst();
+        if (segments.isEmpty()) {
+            // the removed segment was the one written to
+            closeOutput();
+        }
+        size -= segment.size;
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            logger.warn("Could not delete spool segment '{}': {}", segment.path, e.getMessage());
+        }
+    }
+
+    private Segment newSegment(long sequence) {
+        return new Segment(folder.resolve(String.format("%016d%s", sequence, SEGMENT_SUFFIX)), sequence);
+    }
+
+    private static @Nullable Long getSequence(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            // not created by this class
+            return null;
+        }
+    }
+
+    private void closeOutput() {
+        OutputStream output = this.output;
+        this.output = null;
+        if (output != null) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                logger.warn("Could not write spooled points to '{}': {}", folder, e.getMessage());
+            }
+        }
+    }
+
+    private void recover() {
+        if (!Files.isDirectory(folder)) {
+            return;
+        }
+        SortedMap<Long, Path> paths = new TreeMap<>();
+        try (Stream<Path> stream = Files.list(folder)) {
+            stream.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).forEach(path -> {
+                Long sequence = getSequence(path);
+                if (sequence != null) {
+                    paths.put(sequence, path);
+                } else {
+                    logger.debug("Ignoring unknown file '{}' in spool", path);
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Could not read spooled points from '{}': {}", folder, e.getMessage());
+            return;
+        }
+        for (Map.Entry<Long, Path> entry : paths.entrySet()) {
+            Path path = entry.getValue();
+            Segment segment = new Segment(path, entry.getKey());
+            try (InputStream stream = Files.newInputStream(path)) {
+                DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+                while (true) {
+                    int length = input.readInt();
+                    input.skipNBytes(length);
+                    segment.size += Integer.BYTES + length;
+                    segment.points++;
+                }
+            } catch (EOFException e) {
+                // end of segment, or a record which was not completely written before a crash
+            } catch (IOException e) {
+                logger.warn("Could not read spooled points from '{}': {}", path, e.getMessage());
+            }
+            if (segment.points > 0) {
+                segments.add(segment);
+                size += segment.size;
+                points += segment.points;
+            } else {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    logger.debug("Could not delete empty spool segment '{}': {}", path, e.getMessage());
+                }
+            }
+            nextSequence = Math.max(nextSequence, segment.sequence + 1);
+        }
+        if (points > 0) {
+            logger.info("Found {} spooled points in '{}'", points, folder);
+        }
+    }
+
+    private static byte[] encode(InfluxPoint point) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0); // placeholder for the length
+        out.writeUTF(point.getMeasurementName());
+        out.writeLong(point.getTime().getEpochSecond());
+        out.writeInt(point.getTime().getNano());
+        Object value = point.getValue();
+        if (value instanceof BigDecimal decimal) {
+            out.writeByte(VALUE_DECIMAL);
+            out.writeUTF(decimal.toString());
+        } else if (value instanceof Integer integer) {
+            out.writeByte(VALUE_INTEGER);
+            out.writeInt(integer);
+        } else if (value instanceof Long longValue) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof Number number) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble(number.doubleValue());
+        } else if (value instanceof Boolean booleanValue) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean(booleanValue);
+        } else {
+            out.writeByte(VALUE_STRING);
+            writeString(out, String.valueOf(value));
+        }
+        Map<String, String> tags = point.getTags();
+        out.writeInt(tags.size());
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            writeString(out, tag.getKey());
+            writeString(out, tag.getValue());
+        }
+        byte[] record = bytes.toByteArray();
+        int length = record.length - Integer.BYTES;
+        record[0] = (byte) (length >>> 24);
+        record[1] = (byte) (length >>> 16);
+        record[2] = (byte) (length >>> 8);
+        record[3] = (byte) length;
+        return record;
+    }
+
+    private static InfluxPoint decode(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        InfluxPoint.Builder builder = InfluxPoint.newBuilder(in.readUTF())
+                .withTime(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+        byte type = in.readByte();
+        Object value = switch (type) {
+            case VALUE_DECIMAL -> new BigDecimal(in.readUTF());
+            case VALUE_INTEGER -> in.readInt();
+            case VALUE_LONG -> in.readLong();
+            case VALUE_DOUBLE -> in.readDouble();
+            case VALUE_BOOLEAN -> in.readBoolean();
+            case VALUE_STRING -> readString(in);
+            default -> throw new IOException("unknown value type " + type);
+        };
+        builder.withValue(value);
+        int tagCount = in.readInt();
+        for (int i = 0; i < tagCount; i++) {
+            builder.withTag(readString(in), readString(in));
+        }
+        return builder.build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        // writeUTF is limited to 64 kB, which is not sufficient for e.g. large string items
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Buffers {@link InfluxPoint}s until they are written to the database.
+ *
+ * Up to <code>capacity</code> points are kept in memory. Further points overflow to an {@link InfluxDBSpool} on disk,
+ * if one is configured. While the spool is not empty, all new points are appended to it, so points are always
+ * returned in the order they were added. When the buffer is full, either the oldest or the newest points are dropped.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBWriteBuffer {
+    /**
+     * Which points are dropped when the buffer is full.
+     */
+    public enum DropPolicy {
+        OLDEST,
+        NEWEST
+    }
+
+    /**
+     * The state of the buffer.
+     *
+     * @param buffered number of points in memory
+     * @param spooled number of points in the spool
+     * @param spoolSize size of the spool in bytes
+     * @param spooledTotal number of points which overflowed to the spool since startup
+     * @param droppedTotal number of points which were dropped since startup
+     */
+    public record Metrics(int buffered, int spooled, long spoolSize, long spooledTotal, long droppedTotal) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBWriteBuffer.class);
+
+    private final int capacity;
+    private final DropPolicy dropPolicy;
+    private final @Nullable InfluxDBSpool spool;
+    private final Deque<InfluxPoint> points = new ArrayDeque<>();
+
+    private List<InfluxPoint> batch = List.of();
+    private boolean batchFromSpool = false;
+    private long spooledTotal = 0;
+    private long droppedTotal = 0;
+    private boolean dropping = false;
+
+    /**
+     * @param capacity the maximum number of points kept in memory
+     * @param spoolFolder the folder of the spool, or <code>null</code> if points should not overflow to disk
+     * @param spoolMaxSize the maximum size of the spool in bytes
+     * @param dropPolicy which points are dropped when the buffer is full
+     */
+    public InfluxDBWriteBuffer(int capacity, @Nullable Path spoolFolder, long spoolMaxSize, DropPolicy dropPolicy) {
+        this.capacity = capacity;
+        this.dropPolicy = dropPolicy;
+        this.spool = spoolFolder != null && spoolMaxSize > 0 ? new InfluxDBSpool(spoolFolder, spoolMaxSize) : null;
+    }
+
+    /**
+     * Adds a point.
+     *
+     * @param point the point to add
+     * @return <code>false</code> if the point was dropped
+     */
+    public synchronized boolean add(InfluxPoint point) {
+        InfluxDBSpool spool = this.spool;
+        boolean spoolEmpty = spool == null || spool.isEmpty();
+        if (spoolEmpty && points.size() < capacity) {
+            points.add(point);
+            return true;
+        }
+        if (spool != null) {
+            if (spool.append(point)) {
+                spooledTotal++;
+                return true;
+            }
+            if (dropPolicy == DropPolicy.OLDEST) {
+                int dropped = spool.dropOldest();
+                if (dropped > 0) {
+                    drop(dropped);
+                    if (spool.append(point)) {
+                        spooledTotal++;
+                        return true;
+                    }
+                }
+            }
+        }
+        if (dropPolicy == DropPolicy.OLDEST && (spool == null || spool.isEmpty()) && !points.isEmpty()) {
+            points.poll();
+            points.add(point);
+            drop(1);
+            return true;
+        }
+        drop(1);
+        return false;
+    }
+
+    /**
+     * Returns the oldest points, which are removed by {@link #acknowledge()} once they are written. The same points
+     * are returned again until they are acknowledged.
+     *
+     * @param maxSize the maximum number of points
+     * @return the points, or an empty list if the buffer is empty
+     */
+    public synchronized List<InfluxPoint> nextBatch(int maxSize) {
+        if (!batch.isEmpty()) {
+            return batch;
+        }
+        if (!points.isEmpty()) {
+            List<InfluxPoint> batch = new ArrayList<>(Math.min(maxSize, points.size()));
+            while (batch.size() < maxSize && !points.isEmpty()) {
+                batch.add(points.poll());
+            }
+            this.batch = batch;
+            batchFromSpool = false;
+            return batch;
+        }
+        InfluxDBSpool spool = this.spool;
+        while (spool != null && !spool.isEmpty()) {
+            List<InfluxPoint> batch = spool.read(maxSize);
+            if (!batch.isEmpty()) {
+                this.batch = batch;
+                batchFromSpool = true;
+                return batch;
+            }
+            // the points could not be read and are discarded
+            spool.acknowledge();
+        }
+        return batch;
+    }
+
+    /**
+     * Removes the points returned by {@link #nextBatch(int)} after they were written.
+     */
+    public synchronized void acknowledge() {
+        InfluxDBSpool spool = this.spool;
+        if (batchFromSpool && spool != null) {
+            spool.acknowledge();
+        }
+        batch = List.of();
+        batchFromSpool = false;
+        dropping = false;
+    }
+
+    /**
+     * Writes spooled points to disk.
+     */
+    public synchronized void flush() {
+        InfluxDBSpool spool = this.spool;
+        if (spool != null) {
+            spool.flush();
+        }
+    }
+
+    /**
+     * Moves the points in memory to the spool, so they can be written after a restart, and closes it. They are older
+     * than the spooled points, so they are written to a segment which is replayed first.
+     *
+     * @return the number of points which are lost
+     */
+    public synchronized int close() {
+        InfluxDBSpool spool = this.spool;
+        List<InfluxPoint> remaining = new ArrayList<>();
+        if (!batchFromSpool) {
+            // the batch which is not acknowledged is older than the points in memory
+            remaining.addAll(batch);
+        }
+        remaining.addAll(points);
+        batch = List.of();
+        batchFromSpool = false;
+        points.clear();
+        if (spool == null) {
+            return remaining.size();
+        }
+        int lost = spool.prepend(remaining);
+        spool.close();
+        return lost;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the number of points in memory and in the spool
+     */
+    public synchronized int size() {
+        InfluxDBSpool spool = this.spool;
+        return points.size() + (batchFromSpool ? 0 : batch.size()) + (spool != null ? spool.size() : 0);
+    }
+
+    public synchronized Metrics getMetrics() {
+        InfluxDBSpool spool = this.spool;
+        return new Metrics(points.size() + (batchFromSpool ? 0 : batch.size()), spool != null ? spool.size() : 0,
+                spool != null ? spool.sizeInBytes() : 0, spooledTotal, droppedTotal);
+    }
+
+    private void drop(int count) {
+        droppedTotal += count;
+        if (!dropping) {
+            dropping = true;
+            logger.warn("InfluxDB write buffer is full, dropping the {} points until the buffer is written.",
+                    dropPolicy == DropPolicy.OLDEST ? "oldest" : "newest");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link InfluxDBLineProtocol}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBLineProtocolTest {
+    private static final Instant TIME = Instant.ofEpochMilli(1736517704123L);
+
+    private final InfluxDBLineProtocol lineProtocol = new InfluxDBLineProtocol();
+
+    private static InfluxPoint point(String measurement, Object value) {
+        return InfluxPoint.newBuilder(measurement).withTime(TIME).withValue(value).withTag("item", measurement)
+                .build();
+    }
+
+    @Test
+    public void valuesAreWrittenWithTheirFieldType() {
+        String lines = lineProtocol.format(List.of(point("decimal", new BigDecimal("21.50")), point("switch", 1),
+                point("date", 1736517704123L), point("double", 0.1), point("boolean", true)));
+
+        assertThat(lines, is("""
+                decimal,item=decimal value=21.50 1736517704123
+                switch,item=switch value=1i 1736517704123
+                date,item=date value=1736517704123i 1736517704123
+                double,item=double value=0.1 1736517704123
+                boolean,item=boolean value=true 1736517704123\
+                """));
+    }
+
+    @Test
+    public void specialCharactersAreEscaped() {
+        InfluxPoint point = InfluxPoint.newBuilder("my measurement,1").withTime(TIME)
+                .withValue("say \"hello\" \\ bye").withTag("tag key", "a=b,c").withTag("empty", "").build();
+
+        assertThat(lineProtocol.format(List.of(point)),
+                is("my\\ measurement\\,1,tag\\ key=a\\=b\\,c value=\"say \\\"hello\\\" \\\\ bye\" 1736517704123"));
+    }
+
+    @Test
+    public void lineBreaksAndTabsAreReplacedBySpaces() {
+        InfluxPoint point = InfluxPoint.newBuilder("multi\nline").withTime(TIME).withValue(1L)
+                .withTag("label", "first\r\nsecond\tthird").build();
+
+        assertThat(lineProtocol.format(List.of(point)),
+                is("multi\\ line,label=first\\ \\ second\\ third value=1i 1736517704123"));
+    }
+
+    @Test
+    public void tagsAreSorted() {
+        InfluxPoint point = InfluxPoint.newBuilder("m").withTime(TIME).withValue(1.5).withTag("item", "i")
+                .withTag("category", "c").withTag("label", "l").build();
+
+        assertThat(lineProtocol.format(List.of(point)), is("m,category=c,item=i,label=l value=1.5 1736517704123"));
+    }
+
+    @Test
+    public void pointsWithInvalidValuesAreDiscarded() {
+        String lines = lineProtocol.format(List.of(point("nan", Double.NaN), point("valid", 1L)));
+
+        assertThat(lines, is("valid,item=valid value=1i 1736517704123"));
+    }
+}
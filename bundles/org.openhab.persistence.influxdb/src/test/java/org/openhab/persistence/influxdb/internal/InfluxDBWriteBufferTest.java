@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.persistence.influxdb.internal.InfluxDBWriteBuffer.DropPolicy;
+
+/**
+ * Tests the {@link InfluxDBWriteBuffer}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBWriteBufferTest {
+    private static final long SPOOL_SIZE = 1024 * 1024;
+
+    private @TempDir @NonNullByDefault({}) Path spoolFolder;
+
+    private static InfluxPoint point(int value) {
+        return InfluxPoint.newBuilder("measurement").withTime(Instant.ofEpochSecond(1736517704L, value))
+                .withValue(new BigDecimal(value)).withTag(InfluxDBConstants.TAG_ITEM_NAME, "item" + value).build();
+    }
+
+    private static List<Integer> take(InfluxDBWriteBuffer buffer, int batchSize) {
+        List<Integer> values = buffer.nextBatch(batchSize).stream()
+                .map(point -> ((BigDecimal) point.getValue()).intValue()).toList();
+        buffer.acknowledge();
+        return values;
+    }
+
+    private static List<Integer> drain(InfluxDBWriteBuffer buffer, int batchSize) {
+        List<Integer> values = new ArrayList<>();
+        List<Integer> batch;
+        while (!(batch = take(buffer, batchSize)).isEmpty()) {
+            values.addAll(batch);
+        }
+        return values;
+    }
+
+    @Test
+    public void batchIsReturnedAgainUntilAcknowledged() {
+        InfluxDBWriteBuffer buffer = new InfluxDBWriteBuffer(10, null, 0, DropPolicy.NEWEST);
+        IntStream.range(0, 3).forEach(i -> buffer.add(point(i)));
+
+        List<InfluxPoint> batch = buffer.nextBatch(2);
+        buffer.add(point(3));
+
+        assertThat(buffer.nextBatch(2), is(batch));
+        assertThat(buffer.size(), is(4));
+        buffer.acknowledge();
+        assertThat(drain(buffer, 2), contains(2, 3));
+        assertThat(buffer.isEmpty(), is(true));
+    }
+
+    @Test
+    public void newestPointsAreDroppedWithoutSpool() {
+        InfluxDBWriteBuffer buffer = new InfluxDBWriteBuffer(2, null, 0, DropPolicy.NEWEST);
+
+        assertThat(buffer.add(point(0)), is(true));
+        assertThat(buffer.add(point(1)), is(true));
+        assertThat(buffer.add(point(2)), is(false));
+
+        assertThat(buffer.getMetrics().droppedTotal(), is(1L));
+        assertThat(drain(buffer, 10), contains(0, 1));
+    }
+
+    @Test
+    public void oldestPointsAreDroppedWithoutSpool() {
+        InfluxDBWriteBuffer buffer = new InfluxDBWriteBuffer(2, null, 0, DropPolicy.OLDEST);
+
+        IntStream.range(0, 4).forEach(i -> assertThat(buffer.add(point(i)), is(true)));
+
+        assertThat(buffer.getMetrics().droppedTotal(), is(2L));
+        assertThat(drain(buffer, 10), contains(2, 3));
+    }
+
+    @Test
+    public void overflowIsSpooledAndReplayedInOrder() {
+        InfluxDBWriteBuffer buffer = new InfluxDBWriteBuffer(5, spoolFolder, SPOOL_SIZE, DropPolicy.NEWEST);
+        IntStream.range(0, 20).forEach(i -> buffer.add(point(i)));
+
+        assertThat(buffer.getMetrics().buffered(), is(5));
+        assertThat(buffer.getMetrics().spooled(), is(15));
+
+        List<Integer> values = new ArrayList<>(take(buffer, 5));
+        values.addAll(take(buffer, 5));
+        // points added while the spool is replayed are appended to it
+        buffer.add(point(20));
+        assertThat(buffer.getMetrics().spooled(), is(11));
+        values.addAll(drain(buffer, 3));
+
+        assertThat(values, is(IntStream.rangeClosed(0, 20).boxed().toList()));
+        assertThat(buffer.getMetrics().spoolSize(), is(0L));
+    }
+
+    @Test
+    public void spooledPointsArePreservedAcrossRestarts() {
+        InfluxDBWriteBuffer buffer = new InfluxDBWriteBuffer(2, spoolFolder, SPOOL_SIZE, DropPolicy.NEWEST);
+        IntStream.range(0, 6).forEach(i -> buffer.add(point(i)));
+        assertThat(buffer.close(), is(0));
+
+        InfluxDBWriteBuffer restarted = new InfluxDBWriteBuffer(2, spoolFolder, SPOOL_SIZE, DropPolicy.NEWEST);
+        List<InfluxPoint> batch = restarted.nextBatch(1);
+
+        assertThat(restarted.size(), is(6));
+        assertThat(batch.get(0).getTags().get(InfluxDBConstants.TAG_ITEM_NAME), is("item0"));
+        assertThat(batch.get(0).getTime(), is(Instant.ofEpochSecond(1736517704L, 0)));
+        assertThat(drain(restarted, 4), contains(0, 1, 2, 3, 4, 5));
+    }
+
+    @Test
+    public void unacknowledgedBatchIsReplayedFirstAfterRestart() {
+        InfluxDBWriteBuffer buffer = new InfluxDBWriteBuffer(3, spoolFolder, SPOOL_SIZE, DropPolicy.NEWEST);
+        IntStream.range(0, 8).forEach(i -> buffer.add(point(i)));
+        buffer.nextBatch(2);
+        assertThat(buffer.close(), is(0));
+
+        InfluxDBWriteBuffer restarted = new InfluxDBWriteBuffer(3, spoolFolder, SPOOL_SIZE, DropPolicy.NEWEST);
+        assertThat(take(restarted, 3), contains(0, 1, 2));
+        restarted.add(point(8));
+        assertThat(restarted.close(), is(0));
+
+        InfluxDBWriteBuffer restartedAgain = new InfluxDBWriteBuffer(3, spoolFolder, SPOOL_SIZE, DropPolicy.NEWEST);
+        assertThat(drain(restartedAgain, 4), is(IntStream.rangeClosed(3, 8).boxed().toList()));
+    }
+
+    @Test
+    public void oldestPointsAreDroppedWhenSpoolIsFull() {
+        InfluxDBWriteBuffer buffer = new InfluxDBWriteBuffer(1, spoolFolder, 1, DropPolicy.OLDEST);
+
+        IntStream.range(0, 3).forEach(i -> buffer.add(point(i)));
+
+        assertThat(buffer.getMetrics().droppedTotal(), is(2L));
+        assertThat(drain(buffer, 10), contains(2));
+        assertThat(buffer.nextBatch(10), is(empty()));
+    }
+}
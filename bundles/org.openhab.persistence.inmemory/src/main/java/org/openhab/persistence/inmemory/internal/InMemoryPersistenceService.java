@@ -12,20 +12,19 @@
  */
 package org.openhab.persistence.inmemory.internal;
 
-import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -66,11 +65,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     protected static final String CONFIG_URI = "persistence:inmemory";
     private final String MAX_ENTRIES_CONFIG = "maxEntries";
     private final long MAX_ENTRIES_DEFAULT = 512;
+    private final String COMPACT_NUMERIC_STORAGE_CONFIG = "compactNumericStorage";
+    private final boolean COMPACT_NUMERIC_STORAGE_DEFAULT = false;
 
     private final Logger logger = LoggerFactory.getLogger(InMemoryPersistenceService.class);
 
     private final Map<String, PersistItem> persistMap = new ConcurrentHashMap<>();
     private long maxEntries = MAX_ENTRIES_DEFAULT;
+    private boolean compactNumericStorage = COMPACT_NUMERIC_STORAGE_DEFAULT;
 
     @Activate
     public void activate(Map<String, Object> config) {
@@ -81,14 +83,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     @Modified
     public void modified(Map<String, Object> config) {
         maxEntries = ConfigParser.valueAsOrElse(config.get(MAX_ENTRIES_CONFIG), Long.class, MAX_ENTRIES_DEFAULT);
+        compactNumericStorage = ConfigParser.valueAsOrElse(config.get(COMPACT_NUMERIC_STORAGE_CONFIG), Boolean.class,
+                COMPACT_NUMERIC_STORAGE_DEFAULT);
 
         persistMap.values().forEach(persistItem -> {
-            Lock lock = persistItem.lock();
+            Lock lock = persistItem.lock.writeLock();
             lock.lock();
             try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
-                }
+                persistItem.series.trim(maxEntries);
             } finally {
                 lock.unlock();
             }
@@ -148,11 +150,11 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return false;
         }
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock.writeLock();
         lock.lock();
         try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
+            persistItem.series.remove(filter.getBeginDate(), filter.getEndDate(),
+                    filter.getState() == null ? null : e -> applies(e, filter));
         } finally {
             lock.unlock();
         }
@@ -171,15 +173,16 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return List.of();
         }
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock.readLock();
         lock.lock();
-
-        Comparator<PersistEntry> comparator = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING
-                ? Comparator.comparing(PersistEntry::timestamp)
-                : Comparator.comparing(PersistEntry::timestamp).reversed();
-
         try {
-            return persistItem.database().stream().filter(e -> applies(e, filter)).sorted(comparator)
+            Stream<PersistEntry> entries = persistItem.series.stream(filter.getBeginDate(), filter.getEndDate(),
+                    filter.getOrdering() == FilterCriteria.Ordering.DESCENDING);
+            if (filter.getState() != null) {
+                entries = entries.filter(e -> applies(e, filter));
+            }
+            // the time series is already sorted, so paging can be applied without materializing all entries
+            return entries.skip((long) filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize())
                     .map(e -> toHistoricItem(itemName, e)).toList();
         } finally {
             lock.unlock();
@@ -193,13 +196,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     }
 
     private PersistenceItemInfo toItemInfo(Map.Entry<String, PersistItem> itemEntry) {
-        Lock lock = itemEntry.getValue().lock();
+        Lock lock = itemEntry.getValue().lock.readLock();
         lock.lock();
         try {
+            TimeSeries series = itemEntry.getValue().series;
             String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
+            Integer count = series.size();
+            ZonedDateTime earliest = series.firstTimestamp();
+            ZonedDateTime latest = series.lastTimestamp();
             return new PersistenceItemInfo() {
 
                 @Override
@@ -214,12 +218,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
 
                 @Override
                 public @Nullable Date getEarliest() {
-                    return Date.from(earliest);
+                    return earliest == null ? null : Date.from(earliest.toInstant());
                 }
 
                 @Override
                 public @Nullable Date getLatest() {
-                    return Date.from(latest);
+                    return latest == null ? null : Date.from(latest.toInstant());
                 }
             };
         } finally {
@@ -251,34 +255,35 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return;
         }
 
-        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName,
-                k -> new PersistItem(new TreeSet<>(Comparator.comparing(PersistEntry::timestamp)),
-                        new ReentrantLock())));
+        PersistItem persistItem = Objects.requireNonNull(
+                persistMap.computeIfAbsent(itemName, k -> new PersistItem(createTimeSeries(state))));
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock.writeLock();
         lock.lock();
         try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
+            if (!persistItem.series.accepts(state)) {
+                logger.debug("Switching item '{}' to object storage because of state '{}'", itemName, state);
+                persistItem.series = new ObjectTimeSeries(persistItem.series.entries());
             }
+            persistItem.series.add(timestamp, state);
+            persistItem.series.trim(maxEntries);
         } finally {
             lock.unlock();
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private boolean applies(PersistEntry entry, FilterCriteria filter) {
-        ZonedDateTime beginDate = filter.getBeginDate();
-        if (beginDate != null && beginDate.isAfter(entry.timestamp())) {
-            return false;
-        }
-        ZonedDateTime endDate = filter.getEndDate();
-        if (endDate != null && endDate.isBefore(entry.timestamp())) {
-            return false;
+    private TimeSeries createTimeSeries(State state) {
+        if (compactNumericStorage) {
+            TimeSeries series = NumericTimeSeries.forState(state);
+            if (series != null) {
+                return series;
+            }
         }
+        return new ObjectTimeSeries();
+    }
 
+    @SuppressWarnings("unchecked")
+    private boolean applies(PersistEntry entry, FilterCriteria filter) {
         State refState = filter.getState();
         FilterCriteria.Operator operator = filter.getOperator();
         if (refState == null) {
@@ -294,7 +299,7 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return !entry.state().equals(refState);
         }
 
-        if (entry.state() instanceof Comparable comparableState && entry.state.getClass().equals(refState.getClass())) {
+        if (entry.state() instanceof Comparable comparableState && entry.state().getClass().equals(refState.getClass())) {
             if (operator == FilterCriteria.Operator.GT) {
                 return comparableState.compareTo(refState) > 0;
             }
@@ -313,9 +318,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         return true;
     }
 
-    private record PersistEntry(ZonedDateTime timestamp, State state) {
-    }
+    private static class PersistItem {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private TimeSeries series;
 
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
+        private PersistItem(TimeSeries series) {
+            this.series = series;
+        }
     }
 }
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link NumericTimeSeries} stores {@link DecimalType} or {@link QuantityType} values of a single unit in
+ * parallel primitive arrays, which are used as a ring buffer sorted by timestamp.
+ *
+ * Timestamps are stored with millisecond precision and values as <code>double</code>. {@link PersistEntry} objects are
+ * only created when the values are queried, using the system default time zone.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+class NumericTimeSeries implements TimeSeries {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final @Nullable Unit<?> unit;
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    // physical index of the oldest value
+    private int head = 0;
+    private int size = 0;
+
+    private NumericTimeSeries(@Nullable Unit<?> unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Creates a {@link NumericTimeSeries} for values of the same type and unit as the given state.
+     *
+     * @param state the first state to store
+     * @return the time series or <code>null</code> if the state is not numeric
+     */
+    static @Nullable NumericTimeSeries forState(State state) {
+        if (state instanceof QuantityType<?> quantity) {
+            return new NumericTimeSeries(quantity.getUnit());
+        } else if (state.getClass() == DecimalType.class) {
+            return new NumericTimeSeries(null);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean accepts(State state) {
+        Unit<?> unit = this.unit;
+        if (unit == null) {
+            // subclasses like PercentType would not be restored with the correct type
+            return state.getClass() == DecimalType.class;
+        }
+        return state instanceof QuantityType<?> quantity && unit.equals(quantity.getUnit());
+    }
+
+    @Override
+    public void add(ZonedDateTime timestamp, State state) {
+        long millis = timestamp.toInstant().toEpochMilli();
+        double value = ((Number) state).doubleValue();
+
+        int pos;
+        if (size == 0 || millis > timestampAt(size - 1)) {
+            // values are usually appended in chronological order
+            pos = size;
+        } else {
+            pos = lowerBound(millis);
+            if (pos < size && timestampAt(pos) == millis) {
+                return;
+            }
+        }
+
+        if (size == timestamps.length) {
+            grow();
+        }
+        if (pos < size / 2) {
+            // move the older values one slot towards the front of the ring buffer
+            head = head == 0 ? timestamps.length - 1 : head - 1;
+            for (int i = 0; i < pos; i++) {
+                move(i + 1, i);
+            }
+        } else {
+            for (int i = size; i > pos; i--) {
+                move(i - 1, i);
+            }
+        }
+        timestamps[index(pos)] = millis;
+        values[index(pos)] = value;
+        size++;
+    }
+
+    @Override
+    public void trim(long maxEntries) {
+        if (maxEntries > 0 && size > maxEntries) {
+            int removed = size - (int) maxEntries;
+            head = index(removed);
+            size -= removed;
+        }
+    }
+
+    @Override
+    public Stream<PersistEntry> stream(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end,
+            boolean descending) {
+        int from = begin == null ? 0 : lowerBound(begin.toInstant().toEpochMilli());
+        int to = end == null ? size : upperBound(end.toInstant().toEpochMilli());
+        if (from >= to) {
+            return Stream.empty();
+        }
+        IntStream indexes = IntStream.range(from, to);
+        if (descending) {
+            indexes = indexes.map(i -> to - 1 - (i - from));
+        }
+        return indexes.mapToObj(this::entryAt);
+    }
+
+    @Override
+    public void remove(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end,
+            @Nullable Predicate<PersistEntry> predicate) {
+        int from = begin == null ? 0 : lowerBound(begin.toInstant().toEpochMilli());
+        int to = end == null ? size : upperBound(end.toInstant().toEpochMilli());
+        if (from >= to) {
+            return;
+        }
+        int target = from;
+        if (predicate != null) {
+            for (int i = from; i < to; i++) {
+                if (!predicate.test(entryAt(i))) {
+                    move(i, target++);
+                }
+            }
+        }
+        for (int i = to; i < size; i++) {
+            move(i, target++);
+        }
+        size = target;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public @Nullable ZonedDateTime firstTimestamp() {
+        return size == 0 ? null : toZonedDateTime(timestampAt(0));
+    }
+
+    @Override
+    public @Nullable ZonedDateTime lastTimestamp() {
+        return size == 0 ? null : toZonedDateTime(timestampAt(size - 1));
+    }
+
+    private PersistEntry entryAt(int i) {
+        int index = index(i);
+        double value = values[index];
+        Unit<?> unit = this.unit;
+        State state = unit == null ? new DecimalType(value) : new QuantityType<>(value, unit);
+        return new PersistEntry(toZonedDateTime(timestamps[index]), state);
+    }
+
+    private ZonedDateTime toZonedDateTime(long millis) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    /**
+     * Returns the first logical index with a timestamp not before <code>millis</code>.
+     */
+    private int lowerBound(long millis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the first logical index with a timestamp after <code>millis</code>.
+     */
+    private int upperBound(long millis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) <= millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long timestampAt(int i) {
+        return timestamps[index(i)];
+    }
+
+    private void move(int from, int to) {
+        int fromIndex = index(from);
+        int toIndex = index(to);
+        timestamps[toIndex] = timestamps[fromIndex];
+        values[toIndex] = values[fromIndex];
+    }
+
+    /**
+     * Maps a logical index (0 = oldest value) to the physical index in the arrays.
+     */
+    private int index(int i) {
+        int index = head + i;
+        return index >= timestamps.length ? index - timestamps.length : index;
+    }
+
+    private void grow() {
+        int capacity = timestamps.length * 2;
+        long[] newTimestamps = new long[capacity];
+        double[] newValues = new double[capacity];
+        for (int i = 0; i < size; i++) {
+            newTimestamps[i] = timestampAt(i);
+            newValues[i] = values[index(i)];
+        }
+        timestamps = newTimestamps;
+        values = newValues;
+        head = 0;
+    }
+}
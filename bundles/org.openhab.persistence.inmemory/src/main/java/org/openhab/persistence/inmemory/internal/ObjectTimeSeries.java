@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.time.chrono.ChronoZonedDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * The {@link ObjectTimeSeries} stores values of any type as {@link PersistEntry} objects in a sorted set.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+class ObjectTimeSeries implements TimeSeries {
+    // compare the instant only, so range bounds match independent of the time zone
+    private static final Comparator<PersistEntry> TIMESTAMP_ORDER = Comparator.comparing(PersistEntry::timestamp,
+            ChronoZonedDateTime.timeLineOrder());
+
+    private final TreeSet<PersistEntry> database = new TreeSet<>(TIMESTAMP_ORDER);
+
+    ObjectTimeSeries() {
+    }
+
+    ObjectTimeSeries(Collection<PersistEntry> entries) {
+        database.addAll(entries);
+    }
+
+    @Override
+    public boolean accepts(State state) {
+        return true;
+    }
+
+    @Override
+    public void add(ZonedDateTime timestamp, State state) {
+        database.add(new PersistEntry(timestamp, state));
+    }
+
+    @Override
+    public void trim(long maxEntries) {
+        if (maxEntries > 0) {
+            while (database.size() > maxEntries) {
+                database.pollFirst();
+            }
+        }
+    }
+
+    @Override
+    public Stream<PersistEntry> stream(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end,
+            boolean descending) {
+        NavigableSet<PersistEntry> range = timeRange(begin, end);
+        return descending ? range.descendingSet().stream() : range.stream();
+    }
+
+    @Override
+    public void remove(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end,
+            @Nullable Predicate<PersistEntry> predicate) {
+        NavigableSet<PersistEntry> range = timeRange(begin, end);
+        if (predicate == null) {
+            range.clear();
+        } else {
+            range.removeIf(predicate);
+        }
+    }
+
+    @Override
+    public int size() {
+        return database.size();
+    }
+
+    @Override
+    public @Nullable ZonedDateTime firstTimestamp() {
+        return database.isEmpty() ? null : database.first().timestamp();
+    }
+
+    @Override
+    public @Nullable ZonedDateTime lastTimestamp() {
+        return database.isEmpty() ? null : database.last().timestamp();
+    }
+
+    /**
+     * Returns a view of the entries between the begin and end date (both inclusive). The bounds are found by binary
+     * search in the sorted set.
+     */
+    private NavigableSet<PersistEntry> timeRange(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end) {
+        if (begin != null && end != null) {
+            if (begin.isAfter(end)) {
+                return Collections.emptyNavigableSet();
+            }
+            return database.subSet(new PersistEntry(begin, UnDefType.NULL), true, new PersistEntry(end, UnDefType.NULL),
+                    true);
+        } else if (begin != null) {
+            return database.tailSet(new PersistEntry(begin, UnDefType.NULL), true);
+        } else if (end != null) {
+            return database.headSet(new PersistEntry(end, UnDefType.NULL), true);
+        }
+        return database;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link TimeSeries} stores the values of a single item, sorted by timestamp. Implementations are not thread-safe.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+interface TimeSeries {
+
+    /**
+     * Checks if a state can be stored in this time series.
+     *
+     * @param state the state
+     * @return <code>true</code> if the state can be added
+     */
+    boolean accepts(State state);
+
+    /**
+     * Adds a value. If a value with the same timestamp already exists, the existing value is kept.
+     *
+     * @param timestamp the timestamp
+     * @param state the state, must be accepted by this time series
+     */
+    void add(ZonedDateTime timestamp, State state);
+
+    /**
+     * Removes the oldest values until at most <code>maxEntries</code> values are left.
+     *
+     * @param maxEntries the maximum number of values, 0 for no limit
+     */
+    void trim(long maxEntries);
+
+    /**
+     * Streams the values between <code>begin</code> and <code>end</code> (both inclusive).
+     *
+     * @param begin the begin date or <code>null</code> for no lower bound
+     * @param end the end date or <code>null</code> for no upper bound
+     * @param descending whether the values are returned newest first
+     * @return a lazily evaluated stream of the values
+     */
+    Stream<PersistEntry> stream(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, boolean descending);
+
+    /**
+     * Removes values between <code>begin</code> and <code>end</code> (both inclusive).
+     *
+     * @param begin the begin date or <code>null</code> for no lower bound
+     * @param end the end date or <code>null</code> for no upper bound
+     * @param predicate additional condition for the values to remove or <code>null</code> to remove all values
+     */
+    void remove(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end,
+            @Nullable Predicate<PersistEntry> predicate);
+
+    int size();
+
+    @Nullable
+    ZonedDateTime firstTimestamp();
+
+    @Nullable
+    ZonedDateTime lastTimestamp();
+
+    /**
+     * Returns all values in ascending order, e.g. to copy them to another {@link TimeSeries}.
+     */
+    default List<PersistEntry> entries() {
+        return stream(null, null, false).toList();
+    }
+}
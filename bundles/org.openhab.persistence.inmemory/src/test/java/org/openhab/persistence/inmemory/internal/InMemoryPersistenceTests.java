@@ -175,6 +175,65 @@ public class InMemoryPersistenceTests {
         assertThat(resultSet, contains(3, 2, 1));
     }
 
+    @Test
+    public void querySupportsPaging() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 10; i++) {
+            service.store(item, start.plusHours(i), new DecimalType(i));
+        }
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.DESCENDING);
+        filterCriteria.setBeginDate(start.plusHours(2));
+        filterCriteria.setPageSize(3);
+        filterCriteria.setPageNumber(1);
+
+        List<Integer> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+
+        assertThat(resultSet, contains(6, 5, 4));
+    }
+
+    @Test
+    public void queryAndRemoveSupportStateFilterWithinTimeRange() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 10; i++) {
+            service.store(item, start.plusHours(i), new DecimalType(i));
+        }
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        filterCriteria.setBeginDate(start.plusHours(2));
+        filterCriteria.setEndDate(start.plusHours(7));
+        filterCriteria.setOperator(FilterCriteria.Operator.GTE);
+        filterCriteria.setState(new DecimalType(5));
+
+        List<Integer> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+        assertThat(resultSet, contains(5, 6, 7));
+
+        service.remove(filterCriteria);
+
+        filterCriteria = new FilterCriteria();
+        filterCriteria.setItemName(ITEM_NAME);
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        resultSet.clear();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+        assertThat(resultSet, contains(0, 1, 2, 3, 4, 8, 9));
+    }
+
+    @Test
+    public void queryWithBeginDateAfterEndDateReturnsEmptyList() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start, new DecimalType(1));
+
+        filterCriteria.setBeginDate(start.plusHours(1));
+        filterCriteria.setEndDate(start.minusHours(1));
+
+        List<HistoricItem> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(resultSet::add);
+
+        assertThat(resultSet, is(empty()));
+    }
+
     @Test
     public void removeBetweenTimes() {
         State historicState1 = new StringType("value1");
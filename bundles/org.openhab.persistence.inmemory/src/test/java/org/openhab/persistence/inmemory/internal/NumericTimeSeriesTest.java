@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.library.unit.Units;
+
+/**
+ * The {@link NumericTimeSeriesTest} contains tests for the {@link NumericTimeSeries}
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class NumericTimeSeriesTest {
+    private static final ZonedDateTime START = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneId.systemDefault());
+
+    private static NumericTimeSeries createSeries() {
+        return Objects.requireNonNull(NumericTimeSeries.forState(DecimalType.ZERO));
+    }
+
+    private static List<Integer> values(TimeSeries series, boolean descending) {
+        return series.stream(null, null, descending).map(e -> ((DecimalType) e.state()).intValue()).toList();
+    }
+
+    @Test
+    public void forStateOnlyAcceptsNumericStates() {
+        assertThat(NumericTimeSeries.forState(new StringType("test")), is(nullValue()));
+        assertThat(NumericTimeSeries.forState(PercentType.HUNDRED), is(nullValue()));
+        assertThat(NumericTimeSeries.forState(new QuantityType<>(1, SIUnits.CELSIUS)), is(notNullValue()));
+    }
+
+    @Test
+    public void acceptsOnlyStatesOfTheSameTypeAndUnit() {
+        NumericTimeSeries series = Objects
+                .requireNonNull(NumericTimeSeries.forState(new QuantityType<>(1, SIUnits.CELSIUS)));
+
+        assertThat(series.accepts(new QuantityType<>(20, SIUnits.CELSIUS)), is(true));
+        assertThat(series.accepts(new QuantityType<>(20, Units.WATT)), is(false));
+        assertThat(series.accepts(new DecimalType(20)), is(false));
+        assertThat(createSeries().accepts(PercentType.HUNDRED), is(false));
+    }
+
+    @Test
+    public void unorderedValuesAreSortedAndDuplicatesIgnored() {
+        NumericTimeSeries series = createSeries();
+        for (int i : new int[] { 5, 1, 9, 3, 7, 0, 2, 8, 6, 4 }) {
+            series.add(START.plusMinutes(i), new DecimalType(i));
+        }
+        series.add(START.plusMinutes(3), new DecimalType(42));
+
+        assertThat(series.size(), is(10));
+        assertThat(values(series, false), contains(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        assertThat(values(series, true), contains(9, 8, 7, 6, 5, 4, 3, 2, 1, 0));
+    }
+
+    @Test
+    public void trimRemovesOldestValuesAcrossTheRingBufferBoundary() {
+        NumericTimeSeries series = createSeries();
+        for (int i = 0; i < 100; i++) {
+            series.add(START.plusMinutes(i), new DecimalType(i));
+            series.trim(10);
+        }
+        // insert into the older half, which moves the head of the ring buffer
+        series.add(START.plusMinutes(92).plusSeconds(30), new DecimalType(-1));
+        series.trim(10);
+
+        assertThat(values(series, false), contains(91, 92, -1, 93, 94, 95, 96, 97, 98, 99));
+        assertThat(series.firstTimestamp(), is(START.plusMinutes(91)));
+        assertThat(series.lastTimestamp(), is(START.plusMinutes(99)));
+    }
+
+    @Test
+    public void streamAndRemoveObserveInclusiveBounds() {
+        NumericTimeSeries series = createSeries();
+        for (int i = 0; i < 20; i++) {
+            series.add(START.plusMinutes(i), new DecimalType(i));
+        }
+
+        assertThat(series.stream(START.plusMinutes(5), START.plusMinutes(8), true)
+                .map(e -> ((DecimalType) e.state()).intValue()).toList(), contains(8, 7, 6, 5));
+        assertThat(series.stream(START.plusMinutes(8), START.plusMinutes(5), false).toList(), is(empty()));
+
+        series.remove(START.plusMinutes(5), START.plusMinutes(15), e -> ((DecimalType) e.state()).intValue() % 2 == 0);
+        series.remove(null, START.plusMinutes(2), null);
+
+        assertThat(values(series, false), contains(3, 4, 5, 7, 9, 11, 13, 15, 16, 17, 18, 19));
+    }
+
+    @Test
+    public void quantityValuesAreRestoredWithUnit() {
+        NumericTimeSeries series = Objects
+                .requireNonNull(NumericTimeSeries.forState(new QuantityType<>(1, SIUnits.CELSIUS)));
+        series.add(START, new QuantityType<>(21.5, SIUnits.CELSIUS));
+
+        PersistEntry entry = series.entries().get(0);
+        assertThat(entry.state(), is(new QuantityType<>(21.5, SIUnits.CELSIUS)));
+        assertThat(entry.timestamp(), is(START));
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.persistence.jdbc.internal.dto.StoreItemValueVO;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+import org.openhab.persistence.jdbc.internal.utils.MovingAverage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link JdbcBatchWriter} collects item values in a bounded queue and writes them as JDBC batch statements.
+ *
+ * A flush is triggered when the queue holds at least <code>batchSize</code> values or when <code>batchInterval</code>
+ * has elapsed. Pending values are grouped per item table and each table is written by one of the worker threads,
+ * so the order of values within a table is preserved.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchWriter {
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcBatchWriter.class);
+
+    private final JdbcMapper mapper;
+    private final int batchSize;
+    private final int queueSize;
+    private final BlockingQueue<StoreItemValueVO> queue;
+    private final ScheduledExecutorService flushScheduler;
+    private final ExecutorService workers;
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private @Nullable ScheduledFuture<?> flushJob;
+    // offer() queues values while holding the read lock, so none is queued after stop() has cleared running
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+    private boolean running = false;
+
+    // Statistics
+    private final AtomicLong storedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final MovingAverage flushTimeAverage = new MovingAverage(50);
+    private long flushCount = 0;
+    private long lastFlushTime = 0;
+    private long maxFlushTime = 0;
+    private int maxQueueDepth = 0;
+
+    public JdbcBatchWriter(JdbcMapper mapper, int batchSize, int queueSize, int threads) {
+        this.mapper = mapper;
+        this.batchSize = batchSize;
+        this.queueSize = queueSize;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.flushScheduler = Executors
+                .newSingleThreadScheduledExecutor(new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
+        this.workers = Executors.newFixedThreadPool(threads,
+                new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID + "-batch"));
+    }
+
+    /**
+     * Starts the periodic flush.
+     *
+     * @param interval maximum time in milliseconds a value stays in the queue
+     */
+    public void start(long interval) {
+        setRunning(true);
+        flushJob = flushScheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        logger.debug("JDBC::JdbcBatchWriter: started with batchSize={} queueSize={} interval={} ms", batchSize,
+                queueSize, interval);
+    }
+
+    /**
+     * Stops the periodic flush and writes all values still pending in the queue.
+     */
+    public void stop() {
+        setRunning(false);
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        try {
+            flushScheduler.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            logger.debug("JDBC::JdbcBatchWriter: final flush rejected, writer already stopped");
+        }
+        flushScheduler.shutdown();
+        try {
+            if (!flushScheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("JDBC::JdbcBatchWriter: timeout while flushing, {} values have not been stored",
+                        queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdownNow();
+    }
+
+    /**
+     * Adds a value to the write queue.
+     *
+     * @param value the value to store
+     * @return <code>false</code> if the queue is full or the writer is stopped, the caller has to store the value
+     *         itself in this case
+     */
+    public boolean offer(StoreItemValueVO value) {
+        runningLock.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            if (!queue.offer(value)) {
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+        } finally {
+            runningLock.readLock().unlock();
+        }
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flushScheduler.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                logger.debug("JDBC::JdbcBatchWriter: flush rejected, writer is stopping");
+            }
+        }
+        return true;
+    }
+
+    private void setRunning(boolean running) {
+        runningLock.writeLock().lock();
+        try {
+            this.running = running;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+    }
+
+    private void flush() {
+        flushRequested.set(false);
+        int queueDepth = queue.size();
+        if (queueDepth == 0) {
+            return;
+        }
+        if (!mapper.checkDBAccessability()) {
+            logger.warn("JDBC::JdbcBatchWriter: No connection to database. {} values are waiting to be stored.",
+                    queueDepth);
+            return;
+        }
+
+        long timerStart = System.currentTimeMillis();
+        List<StoreItemValueVO> pending = new ArrayList<>(queueDepth);
+        queue.drainTo(pending);
+
+        Map<String, List<StoreItemValueVO>> valuesByTable = mapper.groupItemValuesByTable(pending);
+        List<Callable<@Nullable Void>> tasks = new ArrayList<>(valuesByTable.size());
+        for (Entry<String, List<StoreItemValueVO>> entry : valuesByTable.entrySet()) {
+            tasks.add(() -> {
+                storeTable(entry.getKey(), entry.getValue());
+                return null;
+            });
+        }
+        try {
+            workers.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        long flushTime = System.currentTimeMillis() - timerStart;
+        recordFlush(queueDepth, flushTime);
+        logger.debug("JDBC::JdbcBatchWriter: stored {} values into {} tables in {} ms", pending.size(),
+                valuesByTable.size(), flushTime);
+    }
+
+    private void storeTable(String tableName, List<StoreItemValueVO> values) {
+        for (int from = 0; from < values.size(); from += batchSize) {
+            List<StoreItemValueVO> batch = values.subList(from, Math.min(from + batchSize, values.size()));
+            try {
+                mapper.storeItemValues(tableName, batch);
+                storedCount.addAndGet(batch.size());
+            } catch (JdbcSQLException e) {
+                logger.debug("JDBC::JdbcBatchWriter: batch insert into table '{}' failed, retrying row by row",
+                        tableName, e);
+                storeRows(tableName, batch);
+            }
+        }
+    }
+
+    private void storeRows(String tableName, List<StoreItemValueVO> values) {
+        for (StoreItemValueVO value : values) {
+            try {
+                mapper.storeItemValues(tableName, List.of(value));
+                storedCount.incrementAndGet();
+            } catch (JdbcSQLException e) {
+                failedCount.incrementAndGet();
+                logger.warn("JDBC::JdbcBatchWriter: Unable to store state '{}' for item '{}'", value.state(),
+                        value.item().getName(), e);
+            }
+        }
+    }
+
+    private synchronized void recordFlush(int queueDepth, long flushTime) {
+        flushCount++;
+        lastFlushTime = flushTime;
+        maxFlushTime = Math.max(maxFlushTime, flushTime);
+        maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+        flushTimeAverage.add(flushTime);
+    }
+
+    /******************************
+     * public Getters and Setters *
+     ******************************/
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public synchronized int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public long getStoredCount() {
+        return storedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public synchronized long getFlushCount() {
+        return flushCount;
+    }
+
+    public synchronized long getLastFlushTime() {
+        return lastFlushTime;
+    }
+
+    public synchronized long getMaxFlushTime() {
+        return maxFlushTime;
+    }
+
+    public synchronized double getAverageFlushTime() {
+        return flushTimeAverage.getAverageDouble();
+    }
+}
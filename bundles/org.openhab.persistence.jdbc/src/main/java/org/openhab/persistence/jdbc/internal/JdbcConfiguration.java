@@ -66,6 +66,14 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    // batch writer, disabled if batchSize is 0
+    private int batchSize = 0;
+    private int batchInterval = 1000;
+    private int batchQueueSize = 10000;
+    private int batchThreads = 2;
+    // cursor reads of historic queries, disabled if queryFetchSize is 0
+    private int queryFetchSize = 0;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -191,6 +199,36 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String bs = (String) configuration.get("batchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            batchSize = Integer.parseInt(bs);
+            logger.debug("JDBC::updateConfig: batchSize={}", batchSize);
+        }
+
+        String bi = (String) configuration.get("batchInterval");
+        if (bi != null && !bi.isBlank() && isNumericPattern.matcher(bi).matches()) {
+            batchInterval = Math.max(Integer.parseInt(bi), 10);
+            logger.debug("JDBC::updateConfig: batchInterval={}", batchInterval);
+        }
+
+        String bq = (String) configuration.get("batchQueueSize");
+        if (bq != null && !bq.isBlank() && isNumericPattern.matcher(bq).matches()) {
+            batchQueueSize = Math.max(Integer.parseInt(bq), 1);
+            logger.debug("JDBC::updateConfig: batchQueueSize={}", batchQueueSize);
+        }
+
+        String bt = (String) configuration.get("batchThreads");
+        if (bt != null && !bt.isBlank() && isNumericPattern.matcher(bt).matches()) {
+            batchThreads = Math.max(Integer.parseInt(bt), 1);
+            logger.debug("JDBC::updateConfig: batchThreads={}", batchThreads);
+        }
+
+        String qf = (String) configuration.get("queryFetchSize");
+        if (qf != null && !qf.isBlank() && isNumericPattern.matcher(qf).matches()) {
+            queryFetchSize = Integer.parseInt(qf);
+            logger.debug("JDBC::updateConfig: queryFetchSize={}", queryFetchSize);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -302,6 +340,8 @@ public class JdbcConfiguration {
                 dBDAO.sqlTypes.put(itemType, value);
             }
         }
+        // Statements built with the previous SQL types are outdated
+        dBDAO.clearSqlCache();
     }
 
     private void testJDBCDriver(String driver) {
@@ -400,6 +440,26 @@ public class JdbcConfiguration {
         return tableUseRealItemNames && tableCaseSensitiveItemNames;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBatchInterval() {
+        return batchInterval;
+    }
+
+    public int getBatchQueueSize() {
+        return batchQueueSize;
+    }
+
+    public int getBatchThreads() {
+        return batchThreads;
+    }
+
+    public int getQueryFetchSize() {
+        return queryFetchSize;
+    }
+
     public int getTableIdDigitCount() {
         return tableIdDigitCount;
     }
@@ -12,10 +12,12 @@
  */
 package org.openhab.persistence.jdbc.internal;
 
+import java.sql.SQLException;
 import java.sql.SQLInvalidAuthorizationSpecException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -32,10 +34,12 @@ import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.db.JdbcHistoricItemCursor;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
+import org.openhab.persistence.jdbc.internal.dto.StoreItemValueVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.slf4j.Logger;
@@ -226,6 +230,32 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    /**
+     * Resolves (and if needed creates) the item tables for the given values and groups them by table name,
+     * preserving the order of values within each table.
+     */
+    protected synchronized Map<String, List<StoreItemValueVO>> groupItemValuesByTable(List<StoreItemValueVO> values) {
+        Map<String, List<StoreItemValueVO>> valuesByTable = new LinkedHashMap<>();
+        for (StoreItemValueVO value : values) {
+            try {
+                String tableName = getTable(value.item(), value.alias());
+                valuesByTable.computeIfAbsent(tableName, t -> new ArrayList<>()).add(value);
+            } catch (JdbcException e) {
+                logger.warn("JDBC::groupItemValuesByTable: Unable to resolve table for item '{}'",
+                        value.item().getName(), e);
+            }
+        }
+        return valuesByTable;
+    }
+
+    protected void storeItemValues(String tableName, List<StoreItemValueVO> values) throws JdbcSQLException {
+        logger.debug("JDBC::storeItemValues: table={} count={}", tableName, values.size());
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(tableName, values);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
@@ -236,13 +266,34 @@ public class JdbcMapper {
                 "JDBC::getHistItemFilterQuery filter='{}' numberDecimalcount='{}' table='{}' item='{}' itemName='{}'",
                 true, numberDecimalcount, table, item, item.getName());
         long timerStart = System.currentTimeMillis();
-        List<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table,
-                item.getName(), timeZoneProvider.getTimeZone());
+        List<HistoricItem> result;
+        int fetchSize = conf.getQueryFetchSize();
+        if (fetchSize > 0) {
+            try (JdbcHistoricItemCursor cursor = getHistItemFilterQueryCursor(filter, numberDecimalcount, table, item,
+                    fetchSize)) {
+                result = cursor.readAll();
+            } catch (SQLException e) {
+                throw new JdbcSQLException(e);
+            }
+        } else {
+            result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table, item.getName(),
+                    timeZoneProvider.getTimeZone());
+        }
         logTime("getHistItemFilterQuery", timerStart, System.currentTimeMillis());
         errCnt = 0;
         return result;
     }
 
+    protected JdbcHistoricItemCursor getHistItemFilterQueryCursor(FilterCriteria filter, int numberDecimalcount,
+            String table, Item item, int fetchSize) throws JdbcSQLException {
+        logger.debug("JDBC::getHistItemFilterQueryCursor table='{}' itemName='{}' fetchSize='{}'", table,
+                item.getName(), fetchSize);
+        JdbcHistoricItemCursor cursor = conf.getDBDAO().doGetHistItemFilterQueryCursor(item, filter,
+                numberDecimalcount, table, item.getName(), timeZoneProvider.getTimeZone(), fetchSize);
+        errCnt = 0;
+        return cursor;
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
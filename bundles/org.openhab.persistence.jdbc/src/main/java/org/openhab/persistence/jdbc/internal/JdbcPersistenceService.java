@@ -46,6 +46,7 @@ import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.StoreItemValueVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.framework.BundleContext;
@@ -77,6 +78,8 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
 
+    private volatile @Nullable JdbcBatchWriter batchWriter;
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -120,6 +123,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        stopBatchWriter();
         // closeConnection();
         initialized = false;
     }
@@ -137,21 +141,34 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), null));
+        scheduleStore(item, null, item.getState(), null);
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), alias));
+        scheduleStore(item, null, item.getState(), alias);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state, null));
+        scheduleStore(item, date, state, null);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
+        scheduleStore(item, date, state, alias);
+    }
+
+    private void scheduleStore(Item item, @Nullable ZonedDateTime date, State state, @Nullable String alias) {
+        JdbcBatchWriter batchWriter = this.batchWriter;
+        if (batchWriter != null && !(state instanceof UnDefType)) {
+            // The time is taken now, as the value is written later with other values of the same table
+            ZonedDateTime storeDate = date != null ? date : ZonedDateTime.now();
+            if (batchWriter.offer(new StoreItemValueVO(item, state, storeDate, alias))) {
+                return;
+            }
+            logger.debug("JDBC::store: write queue is full, storing item '{}' directly", item.getName());
+        }
         scheduler.execute(() -> internalStore(item, date, state, alias));
     }
 
@@ -276,6 +293,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
                 checkDBSchema();
                 // connection has been established ... initialization completed!
                 initialized = true;
+                startBatchWriter();
             } catch (JdbcSQLException e) {
                 logger.error("Failed to check database schema", e);
                 initialized = false;
@@ -287,6 +305,24 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
 
+    private void startBatchWriter() {
+        stopBatchWriter();
+        if (conf.getBatchSize() > 0) {
+            JdbcBatchWriter batchWriter = new JdbcBatchWriter(this, conf.getBatchSize(), conf.getBatchQueueSize(),
+                    conf.getBatchThreads());
+            batchWriter.start(conf.getBatchInterval());
+            this.batchWriter = batchWriter;
+        }
+    }
+
+    private void stopBatchWriter() {
+        JdbcBatchWriter batchWriter = this.batchWriter;
+        if (batchWriter != null) {
+            this.batchWriter = null;
+            batchWriter.stop();
+        }
+    }
+
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of(PersistenceStrategy.Globals.CHANGE);
@@ -334,6 +370,13 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         return itemNameToTableNameMap.keySet();
     }
 
+    /**
+     * Get the batch writer, if batched writes are enabled.
+     */
+    public @Nullable JdbcBatchWriter getBatchWriter() {
+        return batchWriter;
+    }
+
     /**
      * Get a map of item names to table names.
      */
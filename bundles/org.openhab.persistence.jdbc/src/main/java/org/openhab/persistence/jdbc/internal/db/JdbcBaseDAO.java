@@ -13,17 +13,23 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.measure.Quantity;
@@ -60,6 +66,7 @@ import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.StoreItemValueVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -82,6 +89,22 @@ public class JdbcBaseDAO {
     // Get Database Meta data
     protected @Nullable DbMetaData dbMeta;
 
+    // Cache of generated statements per operation and item table, see cachedSql()
+    protected static final String SQL_INSERT_ITEM_VALUE = "insertItemValue";
+    protected static final String SQL_HIST_ITEM_FILTER_QUERY = "histItemFilterQuery";
+    protected static final String SQL_HIST_ITEM_FILTER_DELETE = "histItemFilterDelete";
+    protected static final String SQL_GET_ROW_COUNT = "getRowCount";
+    protected static final int TIMESTAMP_PARAMETER = 1;
+    private static final int FILTER_ASCENDING = 1;
+    private static final int FILTER_BEGIN_DATE = 2;
+    private static final int FILTER_END_DATE = 4;
+    private static final int FILTER_PAGED = 8;
+    private static final int FILTER_ROUNDED = 16;
+    private final Map<SqlCacheKey, String> sqlCache = new ConcurrentHashMap<>();
+
+    private record SqlCacheKey(String operation, String tableName, int variant) {
+    }
+
     protected String sqlPingDB = "SELECT 1";
     protected String sqlGetDB = "SELECT DATABASE()";
     protected String sqlIfTableExists = "SHOW TABLES LIKE '#searchTable#'";
@@ -333,6 +356,7 @@ public class JdbcBaseDAO {
     }
 
     public void doDropTable(String tableName) throws JdbcSQLException {
+        clearSqlCache();
         String sql = StringUtilsExt.replaceArrayMerge(sqlDropTable, new String[] { "#tableName#" },
                 new String[] { formattedIdentifier(tableName) });
         logger.debug("JDBC::doDropTable sql={}", sql);
@@ -394,6 +418,7 @@ public class JdbcBaseDAO {
      * ITEM DAOs *
      *************/
     public void doUpdateItemTableNames(List<ItemVO> vol) throws JdbcSQLException {
+        clearSqlCache();
         logger.debug("JDBC::doUpdateItemTableNames vol.size = {}", vol.size());
         for (ItemVO itemTable : vol) {
             String sql = updateItemTableNamesProvider(itemTable);
@@ -419,6 +444,7 @@ public class JdbcBaseDAO {
 
     public void doAlterTableColumn(String tableName, String columnName, String columnType, boolean nullable)
             throws JdbcSQLException {
+        clearSqlCache();
         String sql = StringUtilsExt.replaceArrayMerge(sqlAlterTableColumn,
                 new String[] { "#tableName#", "#columnName#", "#columnType#" }, new String[] {
                         formattedIdentifier(tableName), columnName, nullable ? columnType : columnType + " NOT NULL" });
@@ -432,10 +458,9 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = { storedVO.getValue(), storedVO.getValue() };
+        String sql = cachedSql(SQL_INSERT_ITEM_VALUE, storedVO.getTableName(), 0,
+                () -> insertItemValueProvider(storedVO, sqlTypes.get("tablePrimaryValue")));
+        Object[] params = insertItemValueParams(null, storedVO);
         logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -446,11 +471,10 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), "?" });
+        String sql = cachedSql(SQL_INSERT_ITEM_VALUE, storedVO.getTableName(), TIMESTAMP_PARAMETER,
+                () -> insertItemValueProvider(storedVO, "?"));
         java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
+        Object[] params = insertItemValueParams(timestamp, storedVO);
         logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -459,13 +483,47 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores several values into the same item table using a single JDBC batch statement.
+     *
+     * @param tableName the item table all values are written to
+     * @param values the values to store, each with its own timestamp
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(String tableName, List<StoreItemValueVO> values) throws JdbcSQLException {
+        if (values.isEmpty()) {
+            return;
+        }
+        String sql = "";
+        Object[][] params = new Object[values.size()][];
+        for (int i = 0; i < values.size(); i++) {
+            StoreItemValueVO value = values.get(i);
+            ItemVO storedVO = storeItemValueProvider(value.item(), value.state(), new ItemVO(tableName, null));
+            if (i == 0) {
+                sql = cachedSql(SQL_INSERT_ITEM_VALUE, tableName, TIMESTAMP_PARAMETER,
+                        () -> insertItemValueProvider(storedVO, "?"));
+            }
+            params[i] = insertItemValueParams(new java.sql.Timestamp(value.date().toInstant().toEpochMilli()),
+                    storedVO);
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, params.length);
+        try {
+            Yank.executeBatch(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
-        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
-        logger.debug("JDBC::doGetHistItemFilterQuery sql={}", sql);
+        String sql = cachedSql(SQL_HIST_ITEM_FILTER_QUERY, table,
+                filterVariant(filter, "NUMBERITEM".equalsIgnoreCase(name) && numberDecimalcount > -1),
+                () -> histItemFilterQueryProvider(filter, numberDecimalcount, table, name));
+        Object[] params = histItemFilterQueryParams(filter, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterQuery sql={} params={}", sql, params);
         List<Object[]> m;
         try {
-            m = Yank.queryObjectArrays(sql, null);
+            m = Yank.queryObjectArrays(sql, params);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
         }
@@ -473,27 +531,60 @@ public class JdbcBaseDAO {
             logger.debug("JDBC::doGetHistItemFilterQuery Query failed. Returning an empty list.");
             return List.of();
         }
+        return toHistoricItems(item, m);
+    }
+
+    /**
+     * Queries the values of an item table like {@link #doGetHistItemFilterQuery}, but reads the rows from a database
+     * cursor.
+     *
+     * @param fetchSize the number of rows fetched from the database at once
+     * @return an open cursor, which has to be closed by the caller
+     * @throws JdbcSQLException if the query fails
+     */
+    public JdbcHistoricItemCursor doGetHistItemFilterQueryCursor(Item item, FilterCriteria filter,
+            int numberDecimalcount, String table, String name, ZoneId timeZone, int fetchSize)
+            throws JdbcSQLException {
+        String sql = cachedSql(SQL_HIST_ITEM_FILTER_QUERY, table,
+                filterVariant(filter, "NUMBERITEM".equalsIgnoreCase(name) && numberDecimalcount > -1),
+                () -> histItemFilterQueryProvider(filter, numberDecimalcount, table, name));
+        Object[] params = histItemFilterQueryParams(filter, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterQueryCursor sql={} params={} fetchSize={}", sql, params, fetchSize);
+        try {
+            return new JdbcHistoricItemCursor(Yank.getDefaultConnectionPool(), sql, params, fetchSize,
+                    historicItemMapper(item));
+        } catch (SQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    private List<HistoricItem> toHistoricItems(Item item, List<Object[]> m) {
+        return m.stream().map(historicItemMapper(item)).collect(Collectors.<HistoricItem> toList());
+    }
+
+    private Function<Object[], HistoricItem> historicItemMapper(Item item) {
         // we already retrieve the unit here once as it is a very costly operation
         String itemName = item.getName();
         Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
-        return m.stream()
-                .map(o -> new JdbcHistoricItem(itemName, objectAsState(item, unit, o[1]), objectAsInstant(o[0])))
-                .collect(Collectors.<HistoricItem> toList());
+        return o -> new JdbcHistoricItem(itemName, objectAsState(item, unit, o[1]), objectAsInstant(o[0]));
     }
 
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
-        String sql = histItemFilterDeleteProvider(filter, table, timeZone);
-        logger.debug("JDBC::doDeleteItemValues sql={}", sql);
+        String sql = cachedSql(SQL_HIST_ITEM_FILTER_DELETE, table, filterVariant(filter, false),
+                () -> histItemFilterDeleteProvider(filter, table));
+        Object[] params = resolveTimeFilterParams(filter, timeZone).toArray();
+        logger.debug("JDBC::doDeleteItemValues sql={} params={}", sql, params);
         try {
-            Yank.execute(sql, null);
+            Yank.execute(sql, params);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
         }
     }
 
     public long doGetRowCount(String tableName) throws JdbcSQLException {
-        final String sql = StringUtilsExt.replaceArrayMerge(sqlGetRowCount, new String[] { "#tableName#" },
-                new String[] { formattedIdentifier(tableName) });
+        final String sql = cachedSql(SQL_GET_ROW_COUNT, tableName, 0,
+                () -> StringUtilsExt.replaceArrayMerge(sqlGetRowCount, new String[] { "#tableName#" },
+                        new String[] { formattedIdentifier(tableName) }));
         logger.debug("JDBC::doGetRowCount sql={}", sql);
         try {
             final @Nullable Long result = Yank.queryScalar(sql, Long.class, null);
@@ -509,15 +600,15 @@ public class JdbcBaseDAO {
     static final DateTimeFormatter JDBC_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
-            String simpleName, ZoneId timeZone) {
+            String simpleName) {
         logger.debug(
                 "JDBC::getHistItemFilterQueryProvider filter = {}, numberDecimalcount = {}, table = {}, simpleName = {}",
                 filter, numberDecimalcount, table, simpleName);
 
-        String filterString = resolveTimeFilter(filter, timeZone);
+        String filterString = resolveTimeFilter(filter);
         filterString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC" : " ORDER BY time DESC";
         if (filter.getPageSize() != Integer.MAX_VALUE) {
-            filterString += " LIMIT " + filter.getPageNumber() * filter.getPageSize() + "," + filter.getPageSize();
+            filterString += " LIMIT ?,?";
         }
         // SELECT time, ROUND(value,3) FROM number_item_0114 ORDER BY time DESC LIMIT 0,1
         // rounding HALF UP
@@ -531,29 +622,88 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
-    protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
+    /**
+     * Returns the parameters for the statement built by {@link #histItemFilterQueryProvider}: the time filter
+     * followed by the paging offset and size.
+     */
+    protected Object[] histItemFilterQueryParams(FilterCriteria filter, ZoneId timeZone) {
+        List<Object> params = resolveTimeFilterParams(filter, timeZone);
+        if (filter.getPageSize() != Integer.MAX_VALUE) {
+            params.add(filter.getPageNumber() * filter.getPageSize());
+            params.add(filter.getPageSize());
+        }
+        return params.toArray();
+    }
+
+    /**
+     * Builds the statement for inserting a value into an item table.
+     *
+     * @param storedVO the value to insert
+     * @param tablePrimaryValue the SQL expression for the time column, "?" to bind the timestamp as first parameter
+     */
+    protected String insertItemValueProvider(ItemVO storedVO, @Nullable String tablePrimaryValue) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { formattedIdentifier(storedVO.getTableName()), tablePrimaryValue });
+    }
+
+    /**
+     * Returns the parameters for the statement built by {@link #insertItemValueProvider}.
+     *
+     * @param timestamp the timestamp to bind, or <code>null</code> if the time is determined by the database
+     * @param storedVO the value to insert
+     */
+    protected Object[] insertItemValueParams(java.sql.@Nullable Timestamp timestamp, ItemVO storedVO) {
+        return timestamp == null ? new Object[] { storedVO.getValue(), storedVO.getValue() }
+                : new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
+    protected String histItemFilterDeleteProvider(FilterCriteria filter, String table) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
-        String filterString = resolveTimeFilter(filter, timeZone);
+        String filterString = resolveTimeFilter(filter);
         String deleteString = filterString.isEmpty() ? "TRUNCATE TABLE " + formattedIdentifier(table)
                 : "DELETE FROM " + formattedIdentifier(table) + filterString;
         logger.debug("JDBC::delete deleteString = {}", deleteString);
         return deleteString;
     }
 
-    protected String resolveTimeFilter(FilterCriteria filter, ZoneId timeZone) {
+    protected String resolveTimeFilter(FilterCriteria filter) {
         String filterString = "";
+        if (filter.getBeginDate() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " TIME>=?";
+        }
+        if (filter.getEndDate() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " TIME<=?";
+        }
+        return filterString;
+    }
+
+    /**
+     * Returns the parameters for the time filter built by {@link #resolveTimeFilter}.
+     */
+    protected List<Object> resolveTimeFilterParams(FilterCriteria filter, ZoneId timeZone) {
+        List<Object> params = new ArrayList<>(4);
         ZonedDateTime beginDate = filter.getBeginDate();
         if (beginDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME>='" + JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone)) + "'";
+            params.add(timeFilterParam(beginDate, timeZone));
         }
         ZonedDateTime endDate = filter.getEndDate();
         if (endDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME<='" + JDBC_DATE_FORMAT.format(endDate.withZoneSameInstant(timeZone)) + "'";
+            params.add(timeFilterParam(endDate, timeZone));
         }
-        return filterString;
+        return params;
+    }
+
+    /**
+     * Converts a filter date to a statement parameter. The date is converted to the configured time zone and
+     * truncated to seconds, like the time filter literals used before parameters were bound.
+     */
+    protected Object timeFilterParam(ZonedDateTime date, ZoneId timeZone) {
+        return java.sql.Timestamp
+                .valueOf(date.withZoneSameInstant(timeZone).toLocalDateTime().truncatedTo(ChronoUnit.SECONDS));
     }
 
     private String updateItemTableNamesProvider(ItemVO itemTable) {
@@ -763,6 +913,46 @@ public class JdbcBaseDAO {
         return identifier;
     }
 
+    /**
+     * Returns the statement for an operation on an item table, building it only on first use.
+     * Values and filters are bound as parameters, so the statement text only depends on the operation, the table and
+     * the variant. This avoids rebuilding the statement on each call and lets the JDBC driver and database reuse
+     * prepared statements.
+     *
+     * @param operation the DAO operation
+     * @param tableName the item table
+     * @param variant distinguishes different statement shapes of the same operation
+     * @param provider builds the statement if not yet cached
+     * @return the statement
+     */
+    protected String cachedSql(String operation, String tableName, int variant, Supplier<String> provider) {
+        return sqlCache.computeIfAbsent(new SqlCacheKey(operation, tableName, variant), k -> provider.get());
+    }
+
+    /**
+     * Clears the statement cache. Needs to be called whenever statement templates, SQL types or tables change.
+     */
+    public void clearSqlCache() {
+        sqlCache.clear();
+    }
+
+    private int filterVariant(FilterCriteria filter, boolean rounded) {
+        int variant = filter.getOrdering() == Ordering.ASCENDING ? FILTER_ASCENDING : 0;
+        if (filter.getBeginDate() != null) {
+            variant |= FILTER_BEGIN_DATE;
+        }
+        if (filter.getEndDate() != null) {
+            variant |= FILTER_END_DATE;
+        }
+        if (filter.getPageSize() != Integer.MAX_VALUE) {
+            variant |= FILTER_PAGED;
+        }
+        if (rounded) {
+            variant |= FILTER_ROUNDED;
+        }
+        return variant;
+    }
+
     private String getItemType(Item i) {
         Item item = i;
         String def = "STRINGITEM";
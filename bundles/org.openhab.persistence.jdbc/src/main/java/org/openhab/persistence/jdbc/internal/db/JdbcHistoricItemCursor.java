@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * Reads the result of a historic query from a JDBC cursor, so only <code>fetchSize</code> rows are fetched from the
+ * database at a time.
+ *
+ * The query is executed when the cursor is created. The cursor holds a pooled connection until all rows have been
+ * read or it is closed, so it has to be used in a try-with-resources statement.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcHistoricItemCursor implements AutoCloseable {
+    private final Function<Object[], HistoricItem> rowMapper;
+    private @Nullable Connection connection;
+    private @Nullable PreparedStatement statement;
+    private @Nullable ResultSet resultSet;
+
+    /**
+     * @param dataSource the connection pool
+     * @param sql the query, selecting time and value
+     * @param params the query parameters
+     * @param fetchSize the number of rows fetched from the database at once
+     * @param rowMapper converts a row of time and value to a {@link HistoricItem}
+     * @throws SQLException if the query fails, the connection has been released in this case
+     */
+    public JdbcHistoricItemCursor(DataSource dataSource, String sql, Object[] params, int fetchSize,
+            Function<Object[], HistoricItem> rowMapper) throws SQLException {
+        this.rowMapper = rowMapper;
+        try {
+            Connection connection = dataSource.getConnection();
+            this.connection = connection;
+            // some drivers, e.g. PostgreSQL, only use a cursor within a transaction
+            connection.setAutoCommit(false);
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            this.statement = statement;
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            resultSet = statement.executeQuery();
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next row. The connection is released after the last row has been read or if reading fails.
+     *
+     * @return the next value, or <code>null</code> if all rows have been read
+     * @throws SQLException if the row cannot be read
+     */
+    public @Nullable HistoricItem read() throws SQLException {
+        ResultSet resultSet = this.resultSet;
+        if (resultSet == null) {
+            return null;
+        }
+        try {
+            if (!resultSet.next()) {
+                close();
+                return null;
+            }
+            return rowMapper.apply(new Object[] { resultSet.getObject(1), resultSet.getObject(2) });
+        } catch (SQLException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads all remaining rows.
+     *
+     * @return the values
+     * @throws SQLException if a row cannot be read
+     */
+    public List<HistoricItem> readAll() throws SQLException {
+        List<HistoricItem> items = new ArrayList<>();
+        HistoricItem item;
+        while ((item = read()) != null) {
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * Releases the result set, the statement and the connection. Can be called more than once.
+     */
+    @Override
+    public void close() {
+        ResultSet resultSet = this.resultSet;
+        PreparedStatement statement = this.statement;
+        Connection connection = this.connection;
+        this.resultSet = null;
+        this.statement = null;
+        this.connection = null;
+        try {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            // closing the connection releases the remaining resources
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    // connection is discarded by the pool
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.dto.StoreItemValueVO;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+
+/**
+ * Tests the {@link JdbcBatchWriter}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchWriterTest {
+
+    private static final String TABLE = "item0001";
+    private static final long TIMEOUT = 5000;
+    private static final long NEVER = 3600000;
+    private static final ZonedDateTime DATE = ZonedDateTime.parse("2025-01-10T15:01:44+01:00");
+
+    private @NonNullByDefault({}) JdbcMapper mapper;
+    private @NonNullByDefault({}) Item item;
+    private @NonNullByDefault({}) JdbcBatchWriter batchWriter;
+
+    @BeforeEach
+    public void setup() {
+        mapper = mock(JdbcMapper.class);
+        item = mock(Item.class);
+        when(item.getName()).thenReturn("TestItem");
+        when(mapper.checkDBAccessability()).thenReturn(true);
+        when(mapper.groupItemValuesByTable(anyList())).thenAnswer(invocation -> Map.of(TABLE,
+                invocation.<List<StoreItemValueVO>> getArgument(0)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        batchWriter.stop();
+    }
+
+    private StoreItemValueVO value(int value) {
+        return new StoreItemValueVO(item, new DecimalType(value), DATE, null);
+    }
+
+    @Test
+    void valuesAreFlushedWhenBatchSizeIsReached() throws JdbcSQLException {
+        batchWriter = new JdbcBatchWriter(mapper, 3, 10, 1);
+        batchWriter.start(NEVER);
+
+        assertThat(batchWriter.offer(value(1)), is(true));
+        assertThat(batchWriter.offer(value(2)), is(true));
+        verify(mapper, after(200).never()).storeItemValues(anyString(), anyList());
+
+        assertThat(batchWriter.offer(value(3)), is(true));
+        verify(mapper, timeout(TIMEOUT)).storeItemValues(TABLE, List.of(value(1), value(2), value(3)));
+    }
+
+    @Test
+    void valuesAreFlushedWhenIntervalHasElapsed() throws JdbcSQLException {
+        batchWriter = new JdbcBatchWriter(mapper, 100, 1000, 1);
+        batchWriter.start(100);
+
+        assertThat(batchWriter.offer(value(1)), is(true));
+
+        verify(mapper, timeout(TIMEOUT)).storeItemValues(TABLE, List.of(value(1)));
+        assertThat(batchWriter.getQueueDepth(), is(0));
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRow() throws JdbcSQLException {
+        doThrow(JdbcSQLException.class).when(mapper).storeItemValues(eq(TABLE), argThat(values -> values.size() > 1));
+        doThrow(JdbcSQLException.class).when(mapper).storeItemValues(TABLE, List.of(value(2)));
+        batchWriter = new JdbcBatchWriter(mapper, 3, 10, 1);
+        batchWriter.start(NEVER);
+
+        batchWriter.offer(value(1));
+        batchWriter.offer(value(2));
+        batchWriter.offer(value(3));
+
+        verify(mapper, timeout(TIMEOUT)).storeItemValues(TABLE, List.of(value(3)));
+        batchWriter.stop();
+        verify(mapper).storeItemValues(TABLE, List.of(value(1), value(2), value(3)));
+        verify(mapper).storeItemValues(TABLE, List.of(value(1)));
+        verify(mapper).storeItemValues(TABLE, List.of(value(2)));
+        assertThat(batchWriter.getStoredCount(), is(2L));
+        assertThat(batchWriter.getFailedCount(), is(1L));
+    }
+
+    @Test
+    void pendingValuesAreFlushedOnStop() throws JdbcSQLException {
+        batchWriter = new JdbcBatchWriter(mapper, 100, 1000, 1);
+        batchWriter.start(NEVER);
+        batchWriter.offer(value(1));
+        batchWriter.offer(value(2));
+
+        batchWriter.stop();
+
+        verify(mapper).storeItemValues(TABLE, List.of(value(1), value(2)));
+        assertThat(batchWriter.offer(value(3)), is(false));
+    }
+
+    @Test
+    void everyAcceptedValueIsStoredWhenStoppingWhileOffering() throws Exception {
+        batchWriter = new JdbcBatchWriter(mapper, 10, 100000, 1);
+        batchWriter.start(NEVER);
+
+        AtomicLong accepted = new AtomicLong();
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            int first = thread * 1000000;
+            producers.execute(() -> {
+                for (int i = first; batchWriter.offer(value(i)); i++) {
+                    accepted.incrementAndGet();
+                }
+            });
+        }
+        verify(mapper, timeout(TIMEOUT).atLeast(10)).storeItemValues(anyString(), anyList());
+        batchWriter.stop();
+        producers.shutdown();
+        assertTrue(producers.awaitTermination(TIMEOUT, TimeUnit.MILLISECONDS));
+
+        assertThat(batchWriter.getStoredCount(), is(accepted.get()));
+    }
+
+    @Test
+    void offerIsRejectedWhenQueueIsFull() {
+        batchWriter = new JdbcBatchWriter(mapper, 100, 2, 1);
+        batchWriter.start(NEVER);
+
+        assertThat(batchWriter.offer(value(1)), is(true));
+        assertThat(batchWriter.offer(value(2)), is(true));
+        assertThat(batchWriter.offer(value(3)), is(false));
+        assertThat(batchWriter.getRejectedCount(), is(1L));
+    }
+}
@@ -23,7 +23,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Objects;
+import java.util.List;
 import java.util.stream.Stream;
 
 import javax.measure.Quantity;
@@ -66,6 +66,7 @@ import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 
 /**
  * Tests the {@link JdbcBaseDAO}.
@@ -160,7 +161,7 @@ public class JdbcBaseDAOTest {
 
     @Test
     void testHistItemFilterQueryProviderReturnsSelectQueryWithoutWhereClauseDescendingOrder() {
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC"));
     }
 
@@ -168,7 +169,7 @@ public class JdbcBaseDAOTest {
     void testHistItemFilterQueryProviderReturnsSelectQueryWithoutWhereClauseAscendingOrder() {
         filter.setOrdering(Ordering.ASCENDING);
 
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time ASC"));
     }
 
@@ -177,24 +178,58 @@ public class JdbcBaseDAOTest {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
-        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>='" //
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'" //
-                + " AND TIME<='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate()))
-                + "' ORDER BY time DESC"));
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
+        assertThat(sql,
+                is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=? ORDER BY time DESC"));
     }
 
     @Test
     void testHistItemFilterQueryProviderReturnsSelectQueryWithoutWhereClauseDescendingOrderAndLimit() {
         filter.setPageSize(1);
 
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
-        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT 0,1"));
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
+        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT ?,?"));
+    }
+
+    @Test
+    void testHistItemFilterQueryParamsWithStartAndEndDateAndLimitReturnsDatesAndPaging() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+        filter.setPageNumber(2);
+        filter.setPageSize(10);
+
+        Object[] params = jdbcBaseDAO.histItemFilterQueryParams(filter, UTC_ZONE_ID);
+        assertThat(params, is(new Object[] { java.sql.Timestamp.valueOf("2022-01-10 15:01:44"),
+                java.sql.Timestamp.valueOf("2022-01-15 15:01:44"), 20, 10 }));
+    }
+
+    @Test
+    void testInsertItemValueProviderReturnsInsertQueryWithTimestampParameter() {
+        String sql = jdbcBaseDAO.insertItemValueProvider(new ItemVO(DB_TABLE_NAME, null), "?");
+        assertThat(sql, is("INSERT INTO " + DB_TABLE_NAME
+                + " (time, value) VALUES( ?, ? ) ON DUPLICATE KEY UPDATE VALUE= ?"));
+    }
+
+    @Test
+    void testInsertItemValueProviderReturnsInsertQueryWithDatabaseTime() {
+        String sql = jdbcBaseDAO.insertItemValueProvider(new ItemVO(DB_TABLE_NAME, null), "NOW()");
+        assertThat(sql, is("INSERT INTO " + DB_TABLE_NAME
+                + " (time, value) VALUES( NOW(), ? ) ON DUPLICATE KEY UPDATE VALUE= ?"));
+    }
+
+    @Test
+    void testCachedSqlReturnsCachedStatementUntilCleared() {
+        assertThat(jdbcBaseDAO.cachedSql("test", DB_TABLE_NAME, 0, () -> "first"), is("first"));
+        assertThat(jdbcBaseDAO.cachedSql("test", DB_TABLE_NAME, 0, () -> "second"), is("first"));
+        assertThat(jdbcBaseDAO.cachedSql("test", DB_TABLE_NAME, 1, () -> "second"), is("second"));
+
+        jdbcBaseDAO.clearSqlCache();
+        assertThat(jdbcBaseDAO.cachedSql("test", DB_TABLE_NAME, 0, () -> "third"), is("third"));
     }
 
     @Test
     void testHistItemFilterDeleteProviderReturnsDeleteQueryWithoutWhereClause() {
-        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME);
         assertThat(sql, is("TRUNCATE TABLE " + DB_TABLE_NAME));
     }
 
@@ -203,35 +238,35 @@ public class JdbcBaseDAOTest {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
-        assertThat(sql, is("DELETE FROM " + DB_TABLE_NAME + " WHERE TIME>='" //
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'" //
-                + " AND TIME<='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate()))
-                + "'"));
+        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME);
+        assertThat(sql, is("DELETE FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=?"));
     }
 
     @Test
     void testResolveTimeFilterWithNoDatesReturnsEmptyString() {
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
         assertThat(sql, is(""));
+        assertThat(jdbcBaseDAO.resolveTimeFilterParams(filter, UTC_ZONE_ID).isEmpty(), is(true));
     }
 
     @Test
     void testResolveTimeFilterWithStartDateOnlyReturnsWhereClause() {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
 
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
-        assertThat(sql, is(" WHERE TIME>='"
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'"));
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
+        assertThat(sql, is(" WHERE TIME>=?"));
+        assertThat(jdbcBaseDAO.resolveTimeFilterParams(filter, UTC_ZONE_ID),
+                is(List.of(java.sql.Timestamp.valueOf("2022-01-10 15:01:44"))));
     }
 
     @Test
     void testResolveTimeFilterWithEndDateOnlyReturnsWhereClause() {
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
-        assertThat(sql, is(" WHERE TIME<='"
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
+        assertThat(sql, is(" WHERE TIME<=?"));
+        assertThat(jdbcBaseDAO.resolveTimeFilterParams(filter, UTC_ZONE_ID),
+                is(List.of(java.sql.Timestamp.valueOf("2022-01-15 15:01:44"))));
     }
 
     @Test
@@ -239,12 +274,16 @@ public class JdbcBaseDAOTest {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
-        assertThat(sql,
-                is(" WHERE TIME>='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate()))
-                        + "'" //
-                        + " AND TIME<='"
-                        + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
+        assertThat(sql, is(" WHERE TIME>=? AND TIME<=?"));
+    }
+
+    @Test
+    void testResolveTimeFilterParamsConvertsDatesToConfiguredTimeZone() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+
+        assertThat(jdbcBaseDAO.resolveTimeFilterParams(filter, ZoneId.of("Europe/Berlin")),
+                is(List.of(java.sql.Timestamp.valueOf("2022-01-10 16:01:44"))));
     }
 
     private ZonedDateTime parseDateTimeString(String dts) {
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+
+/**
+ * Tests the {@link JdbcHistoricItemCursor}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcHistoricItemCursorTest {
+
+    private static final String SQL = "SELECT time, value FROM testitem WHERE TIME>=? ORDER BY time ASC";
+    private static final Timestamp BEGIN = Timestamp.valueOf("2022-01-10 15:01:44");
+
+    private @NonNullByDefault({}) DataSource dataSource;
+    private @NonNullByDefault({}) Connection connection;
+    private @NonNullByDefault({}) PreparedStatement statement;
+    private @NonNullByDefault({}) ResultSet resultSet;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+    }
+
+    private JdbcHistoricItemCursor createCursor() throws SQLException {
+        return new JdbcHistoricItemCursor(dataSource, SQL, new Object[] { BEGIN }, 100,
+                o -> new JdbcHistoricItem("TestItem", new DecimalType((Double) o[1]), ((Timestamp) o[0]).toInstant()));
+    }
+
+    private void mockRows() throws SQLException {
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn(Timestamp.valueOf("2022-01-10 15:02:00"),
+                Timestamp.valueOf("2022-01-10 15:03:00"));
+        when(resultSet.getObject(2)).thenReturn(1.5, 2.5);
+    }
+
+    @Test
+    void readAllReadsRowsWithFetchSizeAndClosesConnection() throws SQLException {
+        mockRows();
+
+        List<HistoricItem> items;
+        try (JdbcHistoricItemCursor cursor = createCursor()) {
+            items = cursor.readAll();
+            verify(connection).close();
+        }
+
+        assertThat(items.size(), is(2));
+        assertThat(items.get(0).getState(), is(new DecimalType(1.5)));
+        assertThat(items.get(1).getInstant(), is(Timestamp.valueOf("2022-01-10 15:03:00").toInstant()));
+        verify(statement).setFetchSize(100);
+        verify(statement).setObject(1, BEGIN);
+        verify(connection).setAutoCommit(false);
+        verify(resultSet).close();
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    void failingQueryThrowsAndClosesConnection() throws SQLException {
+        when(statement.executeQuery()).thenThrow(new SQLException("table does not exist"));
+
+        assertThrows(SQLException.class, this::createCursor);
+
+        verify(statement).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void failingReadThrowsAndClosesConnection() throws SQLException {
+        when(resultSet.next()).thenReturn(true).thenThrow(new SQLException("connection reset"));
+        when(resultSet.getObject(1)).thenReturn(Timestamp.valueOf("2022-01-10 15:02:00"));
+        when(resultSet.getObject(2)).thenReturn(1.5);
+
+        try (JdbcHistoricItemCursor cursor = createCursor()) {
+            assertThrows(SQLException.class, cursor::readAll);
+            verify(connection).close();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.persistence.jpa.internal.model.JpaPersistentItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+
+/**
+ * The {@link JpaBatchWriter} collects items in a bounded queue and persists them in a single transaction.
+ *
+ * A flush is triggered when the queue holds at least <code>batchSize</code> items or when <code>batchInterval</code>
+ * has elapsed. If the transaction fails, e.g. because of a duplicate timestamp, the items of the batch are persisted
+ * one by one, so only the conflicting items are dropped.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class JpaBatchWriter {
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final Logger logger = LoggerFactory.getLogger(JpaBatchWriter.class);
+
+    private final Supplier<EntityManagerFactory> entityManagerFactory;
+    private final Consumer<JpaPersistentItem> rowWriter;
+    private final int batchSize;
+    private final BlockingQueue<JpaPersistentItem> queue;
+    private final ScheduledExecutorService flushScheduler = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory("jpa-batch"));
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private @Nullable ScheduledFuture<?> flushJob;
+    // offer() queues items while holding the read lock, so none is queued after stop() has cleared running
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+    private boolean running = false;
+
+    /**
+     * @param entityManagerFactory provides the factory for the entity managers used for batches
+     * @param rowWriter persists a single item in its own transaction
+     * @param batchSize the number of queued items which triggers a flush
+     * @param queueSize the maximum number of queued items
+     */
+    public JpaBatchWriter(Supplier<EntityManagerFactory> entityManagerFactory, Consumer<JpaPersistentItem> rowWriter,
+            int batchSize, int queueSize) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.rowWriter = rowWriter;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    /**
+     * Starts the periodic flush.
+     *
+     * @param interval maximum time in milliseconds an item stays in the queue
+     */
+    public void start(long interval) {
+        setRunning(true);
+        flushJob = flushScheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        logger.debug("Started JPA batch writer with batchSize={} interval={} ms", batchSize, interval);
+    }
+
+    /**
+     * Stops the periodic flush and persists all items still pending in the queue.
+     */
+    public void stop() {
+        setRunning(false);
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        try {
+            flushScheduler.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Final flush rejected, JPA batch writer already stopped");
+        }
+        flushScheduler.shutdown();
+        try {
+            if (!flushScheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Timeout while flushing, {} items have not been persisted", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Adds an item to the write queue.
+     *
+     * @param item the item to persist
+     * @return <code>false</code> if the queue is full or the writer is stopped, the caller has to persist the item
+     *         itself in this case
+     */
+    public boolean offer(JpaPersistentItem item) {
+        runningLock.readLock().lock();
+        try {
+            if (!running || !queue.offer(item)) {
+                return false;
+            }
+        } finally {
+            runningLock.readLock().unlock();
+        }
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flushScheduler.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Flush rejected, JPA batch writer is stopping");
+            }
+        }
+        return true;
+    }
+
+    private void setRunning(boolean running) {
+        runningLock.writeLock().lock();
+        try {
+            this.running = running;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+    }
+
+    private void flush() {
+        flushRequested.set(false);
+        List<JpaPersistentItem> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            persistBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void persistBatch(List<JpaPersistentItem> batch) {
+        EntityManager em;
+        try {
+            em = entityManagerFactory.get().createEntityManager();
+        } catch (RuntimeException e) {
+            logger.error("Error while creating EntityManager! {} items have not been persisted", batch.size(), e);
+            return;
+        }
+        EntityTransaction transaction = em.getTransaction();
+        try {
+            logger.debug("Persisting {} items...", batch.size());
+            transaction.begin();
+            for (JpaPersistentItem item : batch) {
+                em.persist(item);
+            }
+            transaction.commit();
+            logger.debug("Persisting {} items...done", batch.size());
+            return;
+        } catch (Exception e) {
+            logger.debug("Failed to persist batch of {} items, retrying one by one: {}", batch.size(),
+                    e.getMessage());
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+        } finally {
+            em.close();
+        }
+        // the entities of the failed transaction may have been modified, e.g. by id generation
+        batch.stream().map(JpaBatchWriter::copyOf).forEach(rowWriter);
+    }
+
+    private static JpaPersistentItem copyOf(JpaPersistentItem item) {
+        JpaPersistentItem copy = new JpaPersistentItem();
+        copy.setName(item.getName());
+        copy.setRealName(item.getRealName());
+        copy.setTimestamp(Date.from(item.getInstant()));
+        copy.setValue(item.getValue());
+        return copy;
+    }
+}
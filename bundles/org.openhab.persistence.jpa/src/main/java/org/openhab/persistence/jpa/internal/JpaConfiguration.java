@@ -16,6 +16,7 @@ import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,12 +36,22 @@ public class JpaConfiguration {
     private static final String CFG_USERNAME = "user";
     private static final String CFG_PASSWORD = "password";
     private static final String CFG_SYNCMAPPING = "syncmappings";
+    private static final String CFG_BATCH_SIZE = "batchSize";
+    private static final String CFG_BATCH_INTERVAL = "batchInterval";
+    private static final String CFG_BATCH_QUEUE_SIZE = "batchQueueSize";
+
+    private static final int DEFAULT_BATCH_SIZE = 0;
+    private static final long DEFAULT_BATCH_INTERVAL = 1000;
+    private static final int DEFAULT_BATCH_QUEUE_SIZE = 10000;
 
     public final String dbConnectionUrl;
     public final String dbDriverClass;
     public final String dbUserName;
     public final String dbPassword;
     public final String dbSyncMapping;
+    public final int batchSize;
+    public final long batchInterval;
+    public final int batchQueueSize;
 
     public JpaConfiguration(final Map<String, @Nullable Object> properties) throws IllegalArgumentException {
         logger.debug("Creating JPA config...");
@@ -81,6 +92,15 @@ public class JpaConfiguration {
         }
         dbSyncMapping = param == null ? "" : param;
 
+        batchSize = Math.max(0, ConfigParser.valueAsOrElse(properties.get(CFG_BATCH_SIZE), Integer.class,
+                DEFAULT_BATCH_SIZE));
+        batchInterval = Math.max(1, ConfigParser.valueAsOrElse(properties.get(CFG_BATCH_INTERVAL), Long.class,
+                DEFAULT_BATCH_INTERVAL));
+        batchQueueSize = Math.max(batchSize, ConfigParser.valueAsOrElse(properties.get(CFG_BATCH_QUEUE_SIZE),
+                Integer.class, DEFAULT_BATCH_QUEUE_SIZE));
+        logger.debug("batchSize: {}, batchInterval: {}, batchQueueSize: {}", batchSize, batchInterval,
+                batchQueueSize);
+
         logger.debug("Creating JPA config... done");
     }
 }
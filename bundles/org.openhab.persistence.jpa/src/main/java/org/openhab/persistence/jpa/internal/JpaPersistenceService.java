@@ -75,6 +75,8 @@ public class JpaPersistenceService implements QueryablePersistenceService {
 
     private boolean initialized;
 
+    private @Nullable JpaBatchWriter batchWriter;
+
     @Activate
     public JpaPersistenceService(BundleContext context, Map<String, @Nullable Object> properties,
             final @Reference ItemRegistry itemRegistry) {
@@ -83,6 +85,12 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         try {
             config = new JpaConfiguration(properties);
             initialized = true;
+            if (config.batchSize > 0) {
+                JpaBatchWriter batchWriter = new JpaBatchWriter(this::getEntityManagerFactory, this::persist,
+                        config.batchSize, config.batchQueueSize);
+                batchWriter.start(config.batchInterval);
+                this.batchWriter = batchWriter;
+            }
         } catch (IllegalArgumentException e) {
             logger.warn("{}", e.getMessage());
         }
@@ -108,6 +116,11 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate() {
         logger.debug("Deactivating JPA persistence service");
+        JpaBatchWriter batchWriter = this.batchWriter;
+        if (batchWriter != null) {
+            batchWriter.stop();
+            this.batchWriter = null;
+        }
         closeEntityManagerFactory();
     }
 
@@ -156,6 +169,22 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         pItem.setRealName(item.getName());
         pItem.setTimestamp(new Date());
 
+        JpaBatchWriter batchWriter = this.batchWriter;
+        if (batchWriter != null && batchWriter.offer(pItem)) {
+            logger.debug("Queued item {} for batch insert", name);
+            return;
+        }
+        persist(pItem);
+
+        logger.debug("Storing item...done");
+    }
+
+    /**
+     * Persists a single item in its own transaction.
+     *
+     * @param pItem the item to persist
+     */
+    private void persist(JpaPersistentItem pItem) {
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
             logger.debug("Persisting item...");
@@ -168,7 +197,7 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             if (e.getCause() instanceof EntityExistsException) {
                 // there's a UNIQUE constraint in the database, and we tried to write
                 // a duplicate timestamp. Just ignore
-                logger.debug("Failed to persist item {} because of duplicate timestamp", name);
+                logger.debug("Failed to persist item {} because of duplicate timestamp", pItem.getName());
             } else {
                 logger.error("Error while persisting item! Rolling back!", e);
             }
@@ -176,8 +205,6 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         } finally {
             em.close();
         }
-
-        logger.debug("Storing item...done");
     }
 
     @Override
@@ -297,6 +324,10 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             logger.info("You are setting openjpa.jdbc.SynchronizeMappings, I hope you know what you're doing!");
             properties.put("openjpa.jdbc.SynchronizeMappings", config.dbSyncMapping);
         }
+        if (config.batchSize > 0) {
+            // let OpenJPA send the inserts of a transaction as JDBC batch statements
+            properties.put("openjpa.jdbc.DBDictionary", "batchLimit=" + config.batchSize);
+        }
 
         EntityManagerFactory factory = Persistence.createEntityManagerFactory(getPersistenceUnitName(), properties);
         logger.debug("Creating EntityManagerFactory...done");
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.jpa.internal.model.JpaPersistentItem;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.RollbackException;
+
+/**
+ * Tests the {@link JpaBatchWriter}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class JpaBatchWriterTest {
+    private static final long TIMEOUT = 5000;
+    private static final long NEVER = 3600000;
+
+    private final List<JpaPersistentItem> rowWrites = new CopyOnWriteArrayList<>();
+    private @NonNullByDefault({}) EntityManagerFactory entityManagerFactory;
+    private @NonNullByDefault({}) EntityManager entityManager;
+    private @NonNullByDefault({}) EntityTransaction transaction;
+    private @NonNullByDefault({}) JpaBatchWriter batchWriter;
+
+    @BeforeEach
+    public void setup() {
+        entityManagerFactory = mock(EntityManagerFactory.class);
+        entityManager = mock(EntityManager.class);
+        transaction = mock(EntityTransaction.class);
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        when(entityManager.getTransaction()).thenReturn(transaction);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        batchWriter.stop();
+    }
+
+    private void createBatchWriter(int batchSize, int queueSize, long interval) {
+        batchWriter = new JpaBatchWriter(() -> entityManagerFactory, rowWrites::add, batchSize, queueSize);
+        batchWriter.start(interval);
+    }
+
+    private static JpaPersistentItem item(String name, String value) {
+        JpaPersistentItem item = new JpaPersistentItem();
+        item.setName(name);
+        item.setRealName(name);
+        item.setTimestamp(new Date(1736517704123L));
+        item.setValue(value);
+        return item;
+    }
+
+    @Test
+    void itemsAreFlushedWhenBatchSizeIsReached() {
+        createBatchWriter(2, 10, NEVER);
+        JpaPersistentItem item1 = item("Item1", "1");
+        JpaPersistentItem item2 = item("Item2", "2");
+
+        assertThat(batchWriter.offer(item1), is(true));
+        verify(entityManagerFactory, after(200).never()).createEntityManager();
+
+        assertThat(batchWriter.offer(item2), is(true));
+        verify(transaction, timeout(TIMEOUT)).commit();
+        verify(entityManager).persist(item1);
+        verify(entityManager).persist(item2);
+        verify(transaction).begin();
+        verify(entityManager, timeout(TIMEOUT)).close();
+    }
+
+    @Test
+    void itemsAreFlushedWhenIntervalHasElapsed() {
+        createBatchWriter(100, 1000, 100);
+        JpaPersistentItem item1 = item("Item1", "1");
+
+        assertThat(batchWriter.offer(item1), is(true));
+
+        verify(transaction, timeout(TIMEOUT)).commit();
+        verify(entityManager).persist(item1);
+    }
+
+    @Test
+    void failedBatchIsPersistedRowByRow() {
+        doThrow(new RollbackException("duplicate key")).when(transaction).commit();
+        when(transaction.isActive()).thenReturn(true);
+        createBatchWriter(2, 10, NEVER);
+
+        batchWriter.offer(item("Item1", "1"));
+        batchWriter.offer(item("Item2", "2"));
+        batchWriter.stop();
+
+        verify(transaction).rollback();
+        verify(entityManager).close();
+        assertThat(rowWrites.size(), is(2));
+        assertThat(rowWrites.get(0).getName(), is("Item1"));
+        assertThat(rowWrites.get(0).getValue(), is("1"));
+        assertThat(rowWrites.get(1).getName(), is("Item2"));
+        assertThat(rowWrites.get(1).getInstant(), is(item("Item2", "2").getInstant()));
+    }
+
+    @Test
+    void pendingItemsAreFlushedOnStop() {
+        createBatchWriter(100, 1000, NEVER);
+        JpaPersistentItem item1 = item("Item1", "1");
+        batchWriter.offer(item1);
+
+        batchWriter.stop();
+
+        verify(entityManager).persist(item1);
+        verify(transaction).commit();
+        assertThat(batchWriter.offer(item("Item2", "2")), is(false));
+        assertThat(rowWrites.isEmpty(), is(true));
+    }
+
+    @Test
+    void offerIsRejectedWhenQueueIsFull() {
+        createBatchWriter(100, 2, NEVER);
+
+        assertThat(batchWriter.offer(item("Item1", "1")), is(true));
+        assertThat(batchWriter.offer(item("Item2", "2")), is(true));
+        assertThat(batchWriter.offer(item("Item3", "3")), is(false));
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void everyAcceptedItemIsPersistedWhenStoppingWhileOffering() throws Exception {
+        AtomicLong persisted = new AtomicLong();
+        doAnswer(invocation -> persisted.incrementAndGet()).when(entityManager).persist(any());
+        createBatchWriter(10, 100000, NEVER);
+        AtomicLong accepted = new AtomicLong();
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            producers.execute(() -> {
+                for (int i = 0; i < 20000 && batchWriter.offer(item("Item", Integer.toString(i))); i++) {
+                    accepted.incrementAndGet();
+                }
+            });
+        }
+        verify(transaction, timeout(TIMEOUT).atLeast(10)).commit();
+        batchWriter.stop();
+        producers.shutdown();
+
+        assertTrue(producers.awaitTermination(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertThat(persisted.get(), is(accepted.get()));
+    }
+}
@@ -86,6 +86,19 @@ class MapDbItem implements PersistedItem, PersistenceItemInfo {
         this.lastStateChange = lastStateChange;
     }
 
+    /**
+     * Creates a copy, so the returned item can be modified without affecting a value which is not yet committed.
+     */
+    MapDbItem copy() {
+        MapDbItem copy = new MapDbItem();
+        copy.name = name;
+        copy.state = state;
+        copy.timestamp = timestamp;
+        copy.lastState = lastState;
+        copy.lastStateChange = lastStateChange;
+        return copy;
+    }
+
     @Override
     public String toString() {
         return DateFormat.getDateTimeInstance().format(timestamp) + ": " + name + " -> " + state.toString();
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+import org.openhab.core.types.UnDefType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A compact binary serializer for {@link MapDbItem}s.
+ *
+ * The encoding starts with a format version, followed by the name, the timestamp in epoch milliseconds, the state,
+ * the optional last state and the optional last state change. Common state types are written as a type tag followed
+ * by a primitive payload, all other types by their class name and string representation.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+class MapDbItemCodec {
+    private static final byte VERSION = 1;
+
+    private static final byte TAG_GENERIC = 0;
+    private static final byte TAG_UNDEF = 1;
+    private static final byte TAG_DECIMAL = 2;
+    private static final byte TAG_PERCENT = 3;
+    private static final byte TAG_QUANTITY = 4;
+    private static final byte TAG_ON_OFF = 5;
+    private static final byte TAG_OPEN_CLOSED = 6;
+    private static final byte TAG_HSB = 7;
+    private static final byte TAG_STRING = 8;
+
+    private final Logger logger = LoggerFactory.getLogger(MapDbItemCodec.class);
+
+    /**
+     * Encodes an item.
+     *
+     * @param item the item to encode
+     * @return the binary representation
+     */
+    byte[] encode(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeString(out, item.getName());
+            out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+            writeState(out, item.getState());
+            State lastState = item.getLastState();
+            out.writeBoolean(lastState != null);
+            if (lastState != null) {
+                writeState(out, lastState);
+            }
+            ZonedDateTime lastStateChange = item.getLastStateChange();
+            out.writeBoolean(lastStateChange != null);
+            if (lastStateChange != null) {
+                out.writeLong(lastStateChange.toInstant().toEpochMilli());
+            }
+        } catch (IOException e) {
+            // cannot happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an item.
+     *
+     * @param data the binary representation
+     * @return the item, or <code>null</code> if the data could not be decoded
+     */
+    @Nullable
+    MapDbItem decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                logger.warn("Couldn't decode item: unsupported format version {}", version);
+                return null;
+            }
+            MapDbItem item = new MapDbItem();
+            item.setName(readString(in));
+            item.setTimestamp(new Date(in.readLong()));
+            State state = readState(in);
+            if (state == null) {
+                return null;
+            }
+            item.setState(state);
+            if (in.readBoolean()) {
+                item.setLastState(readState(in));
+            }
+            if (in.readBoolean()) {
+                item.setLastStateChange(new Date(in.readLong()));
+            }
+            return item;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Couldn't decode item: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeState(DataOutputStream out, State state) throws IOException {
+        if (state instanceof UnDefType undef) {
+            out.writeByte(TAG_UNDEF);
+            out.writeBoolean(undef == UnDefType.NULL);
+        } else if (state instanceof HSBType hsb) {
+            // HSBType extends PercentType, which extends DecimalType, so the subtypes have to be checked first
+            out.writeByte(TAG_HSB);
+            writeDecimal(out, hsb.getHue().toBigDecimal());
+            writeDecimal(out, hsb.getSaturation().toBigDecimal());
+            writeDecimal(out, hsb.getBrightness().toBigDecimal());
+        } else if (state instanceof PercentType percent) {
+            out.writeByte(TAG_PERCENT);
+            writeDecimal(out, percent.toBigDecimal());
+        } else if (state instanceof DecimalType decimal) {
+            out.writeByte(TAG_DECIMAL);
+            writeDecimal(out, decimal.toBigDecimal());
+        } else if (state instanceof QuantityType<?> quantity) {
+            out.writeByte(TAG_QUANTITY);
+            writeString(out, quantity.toFullString());
+        } else if (state instanceof OnOffType onOff) {
+            out.writeByte(TAG_ON_OFF);
+            out.writeBoolean(onOff == OnOffType.ON);
+        } else if (state instanceof OpenClosedType openClosed) {
+            out.writeByte(TAG_OPEN_CLOSED);
+            out.writeBoolean(openClosed == OpenClosedType.OPEN);
+        } else if (state instanceof StringType string) {
+            out.writeByte(TAG_STRING);
+            writeString(out, string.toFullString());
+        } else {
+            out.writeByte(TAG_GENERIC);
+            writeString(out, state.getClass().getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    private @Nullable State readState(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case TAG_UNDEF -> in.readBoolean() ? UnDefType.NULL : UnDefType.UNDEF;
+            case TAG_DECIMAL -> new DecimalType(readDecimal(in));
+            case TAG_PERCENT -> new PercentType(readDecimal(in));
+            case TAG_HSB -> new HSBType(new DecimalType(readDecimal(in)), new PercentType(readDecimal(in)),
+                    new PercentType(readDecimal(in)));
+            case TAG_QUANTITY -> QuantityType.valueOf(readString(in));
+            case TAG_ON_OFF -> OnOffType.from(in.readBoolean());
+            case TAG_OPEN_CLOSED -> in.readBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case TAG_STRING -> new StringType(readString(in));
+            case TAG_GENERIC -> readGenericState(readString(in), readString(in));
+            default -> throw new IOException("unknown state type tag " + tag);
+        };
+    }
+
+    private @Nullable State readGenericState(String typeName, String value) {
+        try {
+            @SuppressWarnings("unchecked")
+            Class<? extends State> valueType = (Class<? extends State>) Class.forName(typeName);
+            return TypeParser.parseState(List.of(valueType), value);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            logger.warn("Couldn't decode state '{}' of type '{}': {}", value, typeName, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() < Long.SIZE) {
+            out.writeBoolean(true);
+            out.writeLong(unscaled.longValue());
+        } else {
+            out.writeBoolean(false);
+            byte[] bytes = unscaled.toByteArray();
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        out.writeInt(value.scale());
+    }
+
+    private BigDecimal readDecimal(DataInputStream in) throws IOException {
+        BigInteger unscaled;
+        if (in.readBoolean()) {
+            unscaled = BigInteger.valueOf(in.readLong());
+        } else {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            unscaled = new BigInteger(bytes);
+        }
+        return new BigDecimal(unscaled, in.readInt());
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        // writeUTF is limited to 64 kB, which is not sufficient for e.g. large string items
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
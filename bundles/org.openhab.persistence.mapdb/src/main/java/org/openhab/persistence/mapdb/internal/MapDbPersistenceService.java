@@ -25,7 +25,13 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -34,7 +40,10 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.persistence.FilterCriteria;
@@ -50,6 +59,7 @@ import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,46 +74,83 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class }, property = Constants.SERVICE_PID
-        + "=org.openhab.mapdb")
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", //
+        property = Constants.SERVICE_PID + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_ID = "mapdb";
     private static final String SERVICE_LABEL = "MapDB";
+
+    protected static final String CONFIG_URI = "persistence:mapdb";
+    private static final String COMMIT_INTERVAL_CONFIG = "commitInterval";
+    private static final long COMMIT_INTERVAL_DEFAULT = 0;
+    private static final String COMMIT_THRESHOLD_CONFIG = "commitThreshold";
+    private static final int COMMIT_THRESHOLD_DEFAULT = 100;
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
-    private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
     private static final String DB_FILE_NAME = "storage.mapdb";
+    private static final String STORE_NAME = "items";
+    // items stored as JSON by previous versions, migrated on activation
+    private static final String JSON_STORE_NAME = "itemStore";
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    // a single thread, so values are written in the order they are stored
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(new NamedThreadFactory(SERVICE_ID));
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(getClass().getSimpleName() + "-commit");
+
+    /**
+     * holds the latest not yet committed value per alias in group-commit mode
+     */
+    private final Map<String, MapDbItem> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean commitRequested = new AtomicBoolean(false);
+    private @Nullable ScheduledFuture<?> commitJob;
+    private volatile long commitInterval = COMMIT_INTERVAL_DEFAULT;
+    private int commitThreshold = COMMIT_THRESHOLD_DEFAULT;
 
     /**
      * holds the local instance of the MapDB database
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    private @NonNullByDefault({}) Map<String, byte[]> map;
 
+    private final Path dbDir;
+    private final Path backupDir;
+
+    private final MapDbItemCodec codec = new MapDbItemCodec();
+    // only used to migrate items stored as JSON
     private transient Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
 
+    public MapDbPersistenceService() {
+        this(DB_DIR);
+    }
+
+    MapDbPersistenceService(Path dbDir) {
+        this.dbDir = dbDir;
+        this.backupDir = dbDir.resolve("backup");
+    }
+
     @Activate
-    public void activate() {
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
 
         try {
-            Files.createDirectories(DB_DIR);
+            Files.createDirectories(dbDir);
         } catch (IOException e) {
-            logger.warn("Failed to create one or more directories in the path '{}'", DB_DIR);
+            logger.warn("Failed to create one or more directories in the path '{}'", dbDir);
             logger.warn("MapDB persistence service activation has failed.");
             return;
         }
 
-        File dbFile = DB_DIR.resolve(DB_FILE_NAME).toFile();
+        File dbFile = dbDir.resolve(DB_FILE_NAME).toFile();
         try {
             db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-            map = db.createTreeMap("itemStore").makeOrGet();
+            map = db.createTreeMap(STORE_NAME).makeOrGet();
         } catch (RuntimeException re) {
             Throwable cause = re.getCause();
             if (cause instanceof ClassNotFoundException cnf) {
@@ -112,46 +159,109 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                         dbFile, OpenHAB.getVersion(), cnf.getMessage());
 
                 try {
-                    Files.createDirectories(BACKUP_DIR);
+                    Files.createDirectories(backupDir);
                 } catch (IOException ioe) {
-                    logger.warn("Failed to create one or more directories in the path '{}'", BACKUP_DIR);
+                    logger.warn("Failed to create one or more directories in the path '{}'", backupDir);
                     logger.warn("MapDB persistence service activation has failed.");
                     return;
                 }
 
-                try (DirectoryStream<Path> stream = Files.newDirectoryStream(DB_DIR)) {
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(dbDir)) {
                     long epochMilli = Instant.now().toEpochMilli();
                     for (Path path : stream) {
                         if (!Files.isDirectory(path)) {
-                            Path newPath = BACKUP_DIR.resolve(epochMilli + "--" + path.getFileName());
+                            Path newPath = backupDir.resolve(epochMilli + "--" + path.getFileName());
                             Files.move(path, newPath);
                             logger.info("Moved incompatible MapDB file '{}' to '{}'", path, newPath);
                         }
                     }
                 } catch (IOException ioe) {
-                    logger.warn("Failed to read files from '{}': {}", DB_DIR, ioe.getMessage());
+                    logger.warn("Failed to read files from '{}': {}", dbDir, ioe.getMessage());
                     logger.warn("MapDB persistence service activation has failed.");
                     return;
                 }
 
                 db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-                map = db.createTreeMap("itemStore").makeOrGet();
+                map = db.createTreeMap(STORE_NAME).makeOrGet();
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
             }
         }
+        if (map != null) {
+            migrateJsonStore();
+        }
+        modified(config);
         logger.debug("MapDB persistence service is now activated");
     }
 
+    /**
+     * Converts the items stored as JSON by previous versions to the binary format.
+     */
+    private void migrateJsonStore() {
+        if (!db.exists(JSON_STORE_NAME)) {
+            return;
+        }
+        Map<String, String> jsonMap = db.getTreeMap(JSON_STORE_NAME);
+        int total = jsonMap.size();
+        int count = 0;
+        for (Map.Entry<String, String> entry : jsonMap.entrySet()) {
+            Optional<MapDbItem> item = deserializeJson(entry.getValue());
+            if (item.isPresent() && !map.containsKey(entry.getKey())) {
+                map.put(entry.getKey(), serialize(item.get()));
+                count++;
+            }
+        }
+        db.delete(JSON_STORE_NAME);
+        db.commit();
+        logger.info("Migrated {} of {} items in MapDB database to binary format", count, total);
+    }
+
+    @Modified
+    public void modified(Map<String, Object> config) {
+        commitInterval = ConfigParser.valueAsOrElse(config.get(COMMIT_INTERVAL_CONFIG), Long.class,
+                COMMIT_INTERVAL_DEFAULT);
+        commitThreshold = ConfigParser.valueAsOrElse(config.get(COMMIT_THRESHOLD_CONFIG), Integer.class,
+                COMMIT_THRESHOLD_DEFAULT);
+
+        stopCommitJob();
+        if (commitInterval > 0) {
+            commitJob = scheduler.scheduleWithFixedDelay(this::commitPending, commitInterval, commitInterval,
+                    TimeUnit.MILLISECONDS);
+            logger.debug("MapDB group-commit enabled with interval {} ms and threshold {}", commitInterval,
+                    commitThreshold);
+        } else {
+            // values stored while group-commit was enabled must be written before any later value
+            commitPending();
+        }
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
+        stopCommitJob();
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Timeout while writing values to MapDB database");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         if (db != null) {
+            commitPending();
             db.close();
         }
     }
 
+    private void stopCommitJob() {
+        ScheduledFuture<?> commitJob = this.commitJob;
+        if (commitJob != null) {
+            commitJob.cancel(false);
+            this.commitJob = null;
+        }
+    }
+
     @Override
     public String getId() {
         return SERVICE_ID;
@@ -164,7 +274,13 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
+        if (pending.isEmpty()) {
+            return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
+                    .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
+        }
+        return Stream.concat(pending.values().stream().map(MapDbItem::copy),
+                map.entrySet().stream().filter(entry -> !pending.containsKey(entry.getKey()))
+                        .map(entry -> deserialize(entry.getValue())).flatMap(MapDbPersistenceService::streamOptional))
                 .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
     }
 
@@ -192,31 +308,81 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setTimestamp(lastStateUpdate != null ? Date.from(lastStateUpdate.toInstant()) : new Date());
         ZonedDateTime lastStateChange = item.getLastStateChange();
         mItem.setLastStateChange(lastStateChange != null ? Date.from(lastStateChange.toInstant()) : null);
-        threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
-            db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
-        });
+        if (commitInterval > 0) {
+            // group-commit: only the latest value per alias is kept until the next commit
+            pending.put(localAlias, mItem);
+            if (pending.size() >= commitThreshold && commitRequested.compareAndSet(false, true)) {
+                writer.submit(this::commitPending);
+            }
+            return;
+        }
+        writer.submit(() -> storeDirect(localAlias, mItem));
+    }
+
+    private synchronized void storeDirect(String alias, MapDbItem mItem) {
+        // a value stored concurrently with switching off group-commit is older than this one
+        commitPending();
+        map.put(alias, serialize(mItem));
+        db.commit();
+        logger.debug("Stored '{}' with state '{}' in MapDB database", alias, mItem.getState());
+    }
+
+    /**
+     * Returns the number of values not yet committed in group-commit mode.
+     */
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes all pending values of the group-commit mode and commits them at once.
+     */
+    private synchronized void commitPending() {
+        commitRequested.set(false);
+        if (pending.isEmpty() || db == null || db.isClosed()) {
+            return;
+        }
+        int count = 0;
+        for (String alias : pending.keySet()) {
+            MapDbItem mItem = pending.get(alias);
+            if (mItem != null) {
+                map.put(alias, serialize(mItem));
+                // keep a newer value stored in the meantime for the next commit
+                pending.remove(alias, mItem);
+                count++;
+            }
+        }
+        db.commit();
+        logger.debug("Committed {} pending values to MapDB database", count);
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        MapDbItem pendingItem = pending.get(filter.getItemName());
+        if (pendingItem != null) {
+            return List.of(pendingItem.copy());
+        }
+        byte[] data = map.get(filter.getItemName());
+        if (data == null) {
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = deserialize(data);
         return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
     @Override
     public @Nullable PersistedItem persistedItem(String itemName, @Nullable String alias) {
-        String json = map.get(alias != null ? alias : itemName);
-        if (json == null) {
+        MapDbItem pendingItem = pending.get(alias != null ? alias : itemName);
+        if (pendingItem != null) {
+            MapDbItem dbItem = pendingItem.copy();
+            dbItem.setName(itemName);
+            return dbItem;
+        }
+        byte[] data = map.get(alias != null ? alias : itemName);
+        if (data == null) {
             return null;
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = deserialize(data);
         MapDbItem dbItem = item.orElse(null);
         if (dbItem != null) {
             dbItem.setName(itemName);
@@ -224,12 +390,24 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return dbItem;
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    private byte[] serialize(MapDbItem item) {
+        return codec.encode(item);
+    }
+
+    private Optional<MapDbItem> deserialize(byte[] data) {
+        MapDbItem item = codec.decode(data);
+        if (item == null || !item.isValid()) {
+            logger.warn("Deserialized invalid item: {}", item);
+            return Optional.empty();
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Deserialized '{}' with state '{}'", item.getName(), item.getState());
+        }
+
+        return Optional.of(item);
     }
 
     @SuppressWarnings("null")
-    private Optional<MapDbItem> deserialize(String json) {
+    private Optional<MapDbItem> deserializeJson(String json) {
         MapDbItem item = mapper.fromJson(json, MapDbItem.class);
         if (item == null || !item.isValid()) {
             logger.warn("Deserialized invalid item: {}", item);
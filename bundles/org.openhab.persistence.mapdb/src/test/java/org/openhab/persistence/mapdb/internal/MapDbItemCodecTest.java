@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.PointType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * Tests the {@link MapDbItemCodec}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemCodecTest {
+    private final MapDbItemCodec codec = new MapDbItemCodec();
+
+    private static final List<State> VALUES = List.of(DecimalType.ZERO, new DecimalType(1.123),
+            new DecimalType(new BigDecimal("123456789012345678901234567890.123")), HSBType.BLACK,
+            HSBType.fromRGB(11, 22, 33), OnOffType.ON, OnOffType.OFF, OpenClosedType.OPEN, OpenClosedType.CLOSED,
+            PercentType.HUNDRED, PercentType.valueOf("99.999"), QuantityType.valueOf("1 kW"),
+            new QuantityType<>(new BigDecimal("21.23"), SIUnits.CELSIUS), StringType.valueOf(""),
+            StringType.valueOf("a b c 1 2 3 äöü"), new DateTimeType("2025-01-10T15:01:44.123+01:00"),
+            PointType.valueOf("52.5200066,13.4049540"), UnDefType.NULL, UnDefType.UNDEF);
+
+    @ParameterizedTest
+    @MethodSource
+    public void encodeDecodeRoundtripShouldRecreateTheState(State state) {
+        MapDbItem item = new MapDbItem();
+        item.setName("Test_Item");
+        item.setState(state);
+        item.setTimestamp(new Date(1736517704123L));
+
+        MapDbItem actual = Objects.requireNonNull(codec.decode(codec.encode(item)));
+
+        assertThat(actual.getName(), is("Test_Item"));
+        assertThat(actual.getState(), is(equalTo(state)));
+        assertThat(actual.getTimestamp(), is(item.getTimestamp()));
+        assertThat(actual.getLastState(), is(nullValue()));
+        assertThat(actual.getLastStateChange(), is(nullValue()));
+    }
+
+    public static Stream<State> encodeDecodeRoundtripShouldRecreateTheState() {
+        return VALUES.stream();
+    }
+
+    @Test
+    public void encodeDecodeRoundtripShouldRecreateLastStateAndLastStateChange() {
+        MapDbItem item = new MapDbItem();
+        item.setName("Test_Item");
+        item.setState(new DecimalType(2));
+        item.setTimestamp(new Date(1736517704123L));
+        item.setLastState(new DecimalType(1));
+        item.setLastStateChange(new Date(1736517600000L));
+
+        MapDbItem actual = Objects.requireNonNull(codec.decode(codec.encode(item)));
+
+        assertThat(actual.getLastState(), is(equalTo(new DecimalType(1))));
+        assertThat(actual.getLastStateChange(), is(item.getLastStateChange()));
+    }
+
+    @Test
+    public void decodeShouldReturnNullForInvalidData() {
+        assertThat(codec.decode(new byte[] { 42 }), is(nullValue()));
+        assertThat(codec.decode(new byte[0]), is(nullValue()));
+    }
+}
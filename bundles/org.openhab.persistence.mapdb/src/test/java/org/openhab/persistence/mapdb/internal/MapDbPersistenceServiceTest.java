@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.PersistedItem;
+import org.openhab.core.test.java.JavaTest;
+import org.openhab.core.types.State;
+
+import com.google.gson.GsonBuilder;
+
+/**
+ * Tests the group-commit mode and the migration of JSON items of the {@link MapDbPersistenceService}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbPersistenceServiceTest extends JavaTest {
+    private static final long NEVER = 3600000L;
+
+    private @TempDir @NonNullByDefault({}) Path dbDir;
+    private @NonNullByDefault({}) MapDbPersistenceService service;
+
+    @BeforeEach
+    public void setup() {
+        service = new MapDbPersistenceService(dbDir);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.deactivate();
+    }
+
+    private static Map<String, Object> config(long commitInterval, int commitThreshold) {
+        return Map.of("commitInterval", commitInterval, "commitThreshold", commitThreshold);
+    }
+
+    private static Item item(String name, int value) {
+        Item item = mock(Item.class);
+        when(item.getName()).thenReturn(name);
+        when(item.getState()).thenReturn(new DecimalType(value));
+        when(item.getLastStateUpdate()).thenReturn(ZonedDateTime.now());
+        return item;
+    }
+
+    private State persistedState(MapDbPersistenceService service, String name) {
+        PersistedItem persistedItem = Objects.requireNonNull(service.persistedItem(name, null));
+        return persistedItem.getState();
+    }
+
+    /**
+     * Reopens the database, so only committed values are returned.
+     */
+    private MapDbPersistenceService reopen() {
+        service.deactivate();
+        service = new MapDbPersistenceService(dbDir);
+        service.activate(config(0, 1));
+        return service;
+    }
+
+    @Test
+    public void valuesAreCommittedWhenThresholdIsReached() {
+        service.activate(config(NEVER, 3));
+
+        service.store(item("Item1", 1));
+        service.store(item("Item2", 2));
+        service.store(item("Item1", 3));
+        assertThat(service.getPendingCount(), is(2));
+        assertThat(persistedState(service, "Item1"), is(new DecimalType(3)));
+
+        service.store(item("Item3", 4));
+        waitForAssert(() -> assertThat(service.getPendingCount(), is(0)));
+
+        MapDbPersistenceService reopened = reopen();
+        assertThat(persistedState(reopened, "Item1"), is(new DecimalType(3)));
+        assertThat(persistedState(reopened, "Item2"), is(new DecimalType(2)));
+        assertThat(persistedState(reopened, "Item3"), is(new DecimalType(4)));
+    }
+
+    @Test
+    public void valuesAreCommittedWhenIntervalHasElapsed() {
+        service.activate(config(100, 100));
+
+        service.store(item("Item1", 1));
+
+        waitForAssert(() -> assertThat(service.getPendingCount(), is(0)));
+        assertThat(persistedState(reopen(), "Item1"), is(new DecimalType(1)));
+    }
+
+    @Test
+    public void pendingValuesAreCommittedOnDeactivate() {
+        service.activate(config(NEVER, 100));
+
+        service.store(item("Item1", 1));
+        assertThat(service.getPendingCount(), is(1));
+
+        assertThat(persistedState(reopen(), "Item1"), is(new DecimalType(1)));
+    }
+
+    @Test
+    public void switchingToDirectModeCommitsPendingValuesBeforeLaterValues() {
+        service.activate(config(NEVER, 100));
+        service.store(item("Item1", 1));
+        service.store(item("Item2", 2));
+
+        service.modified(config(0, 100));
+        assertThat(service.getPendingCount(), is(0));
+
+        service.store(item("Item1", 3));
+
+        MapDbPersistenceService reopened = reopen();
+        assertThat(persistedState(reopened, "Item1"), is(new DecimalType(3)));
+        assertThat(persistedState(reopened, "Item2"), is(new DecimalType(2)));
+    }
+
+    @Test
+    public void valuesAreStoredDirectlyWithoutGroupCommit() {
+        service.activate(config(0, 100));
+
+        service.store(item("Item1", 1));
+        service.store(item("Item1", 2));
+        assertThat(service.getPendingCount(), is(0));
+
+        assertThat(persistedState(reopen(), "Item1"), is(new DecimalType(2)));
+    }
+
+    @Test
+    public void itemsStoredAsJsonAreMigratedOnActivation() {
+        MapDbItem item = new MapDbItem();
+        item.setName("Item1");
+        item.setState(new DecimalType(5));
+        item.setTimestamp(new Date());
+        String json = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
+                .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create().toJson(item);
+
+        DB db = DBMaker.newFileDB(dbDir.resolve("storage.mapdb").toFile()).make();
+        Map<String, String> jsonMap = db.createTreeMap("itemStore").make();
+        jsonMap.put("Item1", json);
+        db.commit();
+        db.close();
+
+        service.activate(config(0, 100));
+        assertThat(persistedState(service, "Item1"), is(new DecimalType(5)));
+        service.deactivate();
+        // not activated, so tearDown does not close the database again
+        service = new MapDbPersistenceService(dbDir);
+
+        db = DBMaker.newFileDB(dbDir.resolve("storage.mapdb").toFile()).make();
+        try {
+            assertThat(db.exists("itemStore"), is(false));
+            assertThat(db.getTreeMap("items").containsKey("Item1"), is(true));
+        } finally {
+            db.close();
+        }
+    }
+}
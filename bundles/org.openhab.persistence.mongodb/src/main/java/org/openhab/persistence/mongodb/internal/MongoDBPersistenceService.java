@@ -20,11 +20,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -54,6 +56,7 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.result.DeleteResult;
 
 /**
@@ -69,6 +72,10 @@ import com.mongodb.client.result.DeleteResult;
                 + "=org.openhab.mongodb")
 public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
+    private static final int BATCH_SIZE_DEFAULT = 0;
+    private static final long BATCH_INTERVAL_DEFAULT = 1000;
+    private static final int BATCH_QUEUE_SIZE_DEFAULT = 10000;
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
     private String url = "";
@@ -82,6 +89,11 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     private @Nullable MongoClient cl;
 
+    // collection handles of the current client, the index has already been created for these collections
+    private final Map<String, MongoCollection<Document>> collections = new ConcurrentHashMap<>();
+
+    private @Nullable MongoDBWriteBuffer writeBuffer;
+
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
@@ -117,12 +129,29 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
 
+        int batchSize = ConfigParser.valueAsOrElse(config.get("batchSize"), Integer.class, BATCH_SIZE_DEFAULT);
+        if (batchSize > 0) {
+            long batchInterval = ConfigParser.valueAsOrElse(config.get("batchInterval"), Long.class,
+                    BATCH_INTERVAL_DEFAULT);
+            int batchQueueSize = ConfigParser.valueAsOrElse(config.get("batchQueueSize"), Integer.class,
+                    BATCH_QUEUE_SIZE_DEFAULT);
+            MongoDBWriteBuffer writeBuffer = new MongoDBWriteBuffer(this::connectToCollection,
+                    this::tryConnectToDatabase, batchSize, Math.max(batchSize, batchQueueSize));
+            writeBuffer.start(Math.max(1, batchInterval));
+            this.writeBuffer = writeBuffer;
+        }
+
         initialized = true;
     }
 
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        MongoDBWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null) {
+            writeBuffer.stop();
+            this.writeBuffer = null;
+        }
         disconnectFromDatabase();
     }
 
@@ -208,9 +237,15 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     /**
      * Connects to the Collection
      *
+     * The collection handle is cached, so the index is only created once per collection and connection.
+     *
      * @return The collection object when collection creation was successful. Null otherwise.
      */
     private @Nullable MongoCollection<Document> connectToCollection(String collectionName) {
+        MongoCollection<Document> cached = collections.get(collectionName);
+        if (cached != null) {
+            return cached;
+        }
         try {
             @Nullable
             MongoClient db = getDatabase();
@@ -220,13 +255,16 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
                 return null;
             }
 
-            MongoCollection<Document> mongoCollection = db.getDatabase(this.db).getCollection(collectionName);
+            MongoDatabase database = db.getDatabase(this.db);
+            return collections.computeIfAbsent(collectionName, name -> {
+                MongoCollection<Document> mongoCollection = database.getCollection(name);
 
-            Document idx = new Document();
-            idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
-            mongoCollection.createIndex(idx);
+                Document idx = new Document();
+                idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
+                mongoCollection.createIndex(idx);
 
-            return mongoCollection;
+                return mongoCollection;
+            });
         } catch (Exception e) {
             logger.error("Failed to connect to collection {}: {}", collectionName, e.getMessage(), e);
             return null;
@@ -237,6 +275,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
      * Disconnects from the database
      */
     private synchronized void disconnectFromDatabase() {
+        collections.clear();
         MongoClient localCl = cl;
         if (localCl != null) {
             localCl.close();
@@ -351,6 +390,28 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
+        String realItemName = item.getName();
+        String name = (alias != null) ? alias : realItemName;
+        String collectionName = collectionPerItem ? name : this.collection;
+
+        Object value = MongoDBTypeConversions.convertValue(state);
+
+        Document obj = new Document();
+        obj.put(MongoDBFields.FIELD_ID, new ObjectId());
+        obj.put(MongoDBFields.FIELD_ITEM, name);
+        obj.put(MongoDBFields.FIELD_REALNAME, realItemName);
+        obj.put(MongoDBFields.FIELD_TIMESTAMP, date);
+        obj.put(MongoDBFields.FIELD_VALUE, value);
+        if (item instanceof NumberItem && state instanceof QuantityType<?>) {
+            obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
+        }
+
+        MongoDBWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null && writeBuffer.offer(collectionName, obj)) {
+            logger.debug("MongoDB queued {}={}", name, value);
+            return;
+        }
+
         // Connect to mongodb server if we're not already connected
         // If we can't connect, log.
         if (!tryConnectToDatabase()) {
@@ -360,10 +421,6 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        String realItemName = item.getName();
-        String name = (alias != null) ? alias : realItemName;
-        String collectionName = collectionPerItem ? name : this.collection;
-
         @Nullable
         MongoCollection<Document> collection = connectToCollection(collectionName);
 
@@ -372,17 +429,6 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        Object value = MongoDBTypeConversions.convertValue(state);
-
-        Document obj = new Document();
-        obj.put(MongoDBFields.FIELD_ID, new ObjectId());
-        obj.put(MongoDBFields.FIELD_ITEM, name);
-        obj.put(MongoDBFields.FIELD_REALNAME, realItemName);
-        obj.put(MongoDBFields.FIELD_TIMESTAMP, date);
-        obj.put(MongoDBFields.FIELD_VALUE, value);
-        if (item instanceof NumberItem && state instanceof QuantityType<?>) {
-            obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
-        }
         try {
             collection.insertOne(obj);
         } catch (org.bson.BsonMaximumSizeExceededException e) {
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * The {@link MongoDBWriteBuffer} collects documents in a bounded queue and writes them with <code>insertMany</code>.
+ *
+ * A flush is triggered when the queue holds at least <code>batchSize</code> documents or when the flush interval has
+ * elapsed. Documents are grouped per collection, keeping their order within a collection.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+class MongoDBWriteBuffer {
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final InsertManyOptions INSERT_OPTIONS = new InsertManyOptions().ordered(false);
+
+    private record PendingDocument(String collectionName, Document document) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(MongoDBWriteBuffer.class);
+
+    private final Function<String, @Nullable MongoCollection<Document>> collectionProvider;
+    private final BooleanSupplier connectionCheck;
+    private final int batchSize;
+    private final BlockingQueue<PendingDocument> queue;
+    private final ScheduledExecutorService flushScheduler = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory("mongodb-writer"));
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private @Nullable ScheduledFuture<?> flushJob;
+    // offer() queues documents while holding the read lock, so none is queued after stop() has cleared running
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+    private boolean running = false;
+
+    /**
+     * @param collectionProvider returns the collection for a collection name or <code>null</code> if not available
+     * @param connectionCheck (re)connects to the database, returns <code>false</code> if no connection is available
+     * @param batchSize the number of queued documents which triggers a flush
+     * @param queueSize the maximum number of queued documents
+     */
+    MongoDBWriteBuffer(Function<String, @Nullable MongoCollection<Document>> collectionProvider,
+            BooleanSupplier connectionCheck, int batchSize, int queueSize) {
+        this.collectionProvider = collectionProvider;
+        this.connectionCheck = connectionCheck;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    /**
+     * Starts the periodic flush.
+     *
+     * @param interval maximum time in milliseconds a document stays in the queue
+     */
+    void start(long interval) {
+        setRunning(true);
+        flushJob = flushScheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        logger.debug("MongoDB write buffer started with batchSize={} interval={} ms", batchSize, interval);
+    }
+
+    /**
+     * Stops the periodic flush and writes all documents still pending in the queue.
+     */
+    void stop() {
+        setRunning(false);
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        try {
+            flushScheduler.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Final flush of MongoDB write buffer rejected, buffer already stopped");
+        }
+        flushScheduler.shutdown();
+        try {
+            if (!flushScheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Timeout while flushing, {} documents have not been stored in MongoDB", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Adds a document to the write queue.
+     *
+     * @param collectionName the name of the collection to insert the document into
+     * @param document the document
+     * @return <code>false</code> if the queue is full or the buffer is stopped, the caller has to store the document
+     *         itself in this case
+     */
+    boolean offer(String collectionName, Document document) {
+        runningLock.readLock().lock();
+        try {
+            if (!running || !queue.offer(new PendingDocument(collectionName, document))) {
+                return false;
+            }
+        } finally {
+            runningLock.readLock().unlock();
+        }
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flushScheduler.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Flush of MongoDB write buffer rejected, buffer is stopping");
+            }
+        }
+        return true;
+    }
+
+    private void setRunning(boolean running) {
+        runningLock.writeLock().lock();
+        try {
+            this.running = running;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+    }
+
+    private void flush() {
+        flushRequested.set(false);
+        int queueDepth = queue.size();
+        if (queueDepth == 0) {
+            return;
+        }
+        if (!connectionCheck.getAsBoolean()) {
+            logger.warn("No connection to MongoDB. {} documents are waiting to be stored.", queueDepth);
+            return;
+        }
+
+        List<PendingDocument> pending = new ArrayList<>(queueDepth);
+        queue.drainTo(pending);
+
+        Map<String, List<Document>> documentsByCollection = new LinkedHashMap<>();
+        for (PendingDocument document : pending) {
+            documentsByCollection.computeIfAbsent(document.collectionName(), k -> new ArrayList<>())
+                    .add(document.document());
+        }
+        for (Entry<String, List<Document>> entry : documentsByCollection.entrySet()) {
+            storeDocuments(entry.getKey(), entry.getValue());
+        }
+        logger.debug("MongoDB write buffer stored {} documents into {} collections", pending.size(),
+                documentsByCollection.size());
+    }
+
+    private void storeDocuments(String collectionName, List<Document> documents) {
+        MongoCollection<Document> collection = collectionProvider.apply(collectionName);
+        if (collection == null) {
+            logger.warn("{} documents for collection {} have not been stored", documents.size(), collectionName);
+            return;
+        }
+        for (int from = 0; from < documents.size(); from += batchSize) {
+            List<Document> batch = documents.subList(from, Math.min(from + batchSize, documents.size()));
+            try {
+                collection.insertMany(batch, INSERT_OPTIONS);
+            } catch (MongoBulkWriteException e) {
+                logger.warn("{} of {} documents for collection {} have not been stored: {}",
+                        e.getWriteErrors().size(), batch.size(), collectionName, e.getMessage());
+            } catch (MongoException e) {
+                logger.warn("Failed to store {} documents into collection {}: {}", batch.size(), collectionName,
+                        e.getMessage());
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -341,6 +342,52 @@ public class MongoDBPersistenceServiceTest {
         }
     }
 
+    /**
+     * Tests the store method of MongoDBPersistenceService with buffered writes.
+     *
+     * This test checks if values are queued until the write buffer is flushed, which happens at the latest when the
+     * service is deactivated.
+     * It uses different database backends provided by the provideDatabaseBackends method.
+     *
+     * @param dbContainer The container running the MongoDB instance.
+     */
+    @ParameterizedTest
+    @MethodSource("org.openhab.persistence.mongodb.internal.DataCreationHelper#provideDatabaseBackends")
+    public void testStoreBuffered(DatabaseTestContainer dbContainer) {
+        try {
+            // Preparation
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+
+            Map<String, Object> config = new HashMap<>(setupResult.config);
+            config.put("batchSize", 10);
+            config.put("batchInterval", 60000);
+            service.activate(setupResult.bundleContext, config);
+
+            StringItem strItem1 = DataCreationHelper.createStringItem("TestItem1", "TestValue1");
+            StringItem strItem2 = DataCreationHelper.createStringItem("TestItem2", "TestValue2");
+
+            // Execution
+            service.store(strItem1, null);
+            service.store(strItem2, null);
+
+            // Verification
+            MongoCollection<Document> collection = database.getCollection("testCollection");
+            assertEquals(0, collection.countDocuments()); // Assert that the values are still queued
+
+            service.deactivate(1);
+
+            List<Document> documents = collection.find().into(new ArrayList<>());
+            assertEquals(2, documents.size()); // Assert that both values have been written
+
+            VerificationHelper.verifyDocument(documents.get(0), "TestItem1", "TestValue1");
+            VerificationHelper.verifyDocument(documents.get(1), "TestItem2", "TestValue2");
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
     /**
      * Tests the store method of MongoDBPersistenceService with a StringItem and an alias.
      *
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.rrd4j.core.RrdDb;
+
+/**
+ * The {@link RRD4jDatabaseCache} keeps the most recently written {@link RrdDb}s open, so their files don't have to be
+ * opened again for every sample. The least recently used databases are evicted when the capacity is exceeded.
+ *
+ * The cache does not close databases itself. Evicted databases are returned to the caller, which has to close them
+ * once they are no longer in use.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+class RRD4jDatabaseCache {
+    private final LinkedHashMap<String, RrdDb> databases = new LinkedHashMap<>(16, 0.75f, true);
+    private int capacity = 0;
+
+    /**
+     * Returns an open database and marks it as most recently used.
+     *
+     * @param name the name of the database
+     * @return the database or <code>null</code> if it is not cached
+     */
+    synchronized @Nullable RrdDb get(String name) {
+        RrdDb db = databases.get(name);
+        if (db != null && db.isClosed()) {
+            databases.remove(name);
+            return null;
+        }
+        return db;
+    }
+
+    /**
+     * Adds an open database.
+     *
+     * @param name the name of the database
+     * @param db the database
+     * @return the evicted databases, which may include the added one if the cache is disabled
+     */
+    synchronized List<Map.Entry<String, RrdDb>> put(String name, RrdDb db) {
+        List<Map.Entry<String, RrdDb>> evicted = new ArrayList<>();
+        RrdDb previous = databases.put(name, db);
+        if (previous != null && previous != db) {
+            evicted.add(Map.entry(name, previous));
+        }
+        evict(evicted);
+        return evicted;
+    }
+
+    /**
+     * Removes a database, e.g. before its file is deleted.
+     *
+     * @param name the name of the database
+     * @return the removed database or <code>null</code> if it was not cached
+     */
+    synchronized @Nullable RrdDb remove(String name) {
+        return databases.remove(name);
+    }
+
+    /**
+     * Removes all databases.
+     *
+     * @return the removed databases
+     */
+    synchronized List<Map.Entry<String, RrdDb>> clear() {
+        List<Map.Entry<String, RrdDb>> removed = new ArrayList<>(databases.size());
+        databases.forEach((name, db) -> removed.add(Map.entry(name, db)));
+        databases.clear();
+        return removed;
+    }
+
+    /**
+     * Changes the maximum number of open databases.
+     *
+     * @param capacity the new capacity, 0 disables the cache
+     * @return the evicted databases
+     */
+    synchronized List<Map.Entry<String, RrdDb>> setCapacity(int capacity) {
+        this.capacity = capacity;
+        List<Map.Entry<String, RrdDb>> evicted = new ArrayList<>();
+        evict(evicted);
+        return evicted;
+    }
+
+    synchronized int size() {
+        return databases.size();
+    }
+
+    private void evict(List<Map.Entry<String, RrdDb>> evicted) {
+        Iterator<Map.Entry<String, RrdDb>> iterator = databases.entrySet().iterator();
+        while (databases.size() > capacity && iterator.hasNext()) {
+            Map.Entry<String, RrdDb> eldest = iterator.next();
+            evicted.add(Map.entry(eldest.getKey(), eldest.getValue()));
+            iterator.remove();
+        }
+    }
+}
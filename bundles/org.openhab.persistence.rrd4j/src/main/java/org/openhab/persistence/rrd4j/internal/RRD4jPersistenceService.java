@@ -15,6 +15,7 @@ package org.openhab.persistence.rrd4j.internal;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -22,6 +23,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -34,6 +36,8 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.DoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -45,6 +49,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -83,10 +88,14 @@ import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.core.RrdDbPool;
 import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdMemoryBackendFactory;
+import org.rrd4j.core.RrdNioBackendFactory;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
 import org.rrd4j.core.Sample;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -138,6 +147,27 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
 
+    private static volatile @Nullable RrdBackendFactory backendFactory;
+
+    private static final String CONFIG_MAX_OPEN_DATABASES = "maxOpenDatabases";
+    private static final String CONFIG_BACKEND = "backend";
+    private static final String CONFIG_SNAPSHOT_INTERVAL = "snapshotInterval";
+    private static final String BACKEND_DEFAULT = "default";
+    private static final String BACKEND_FILE = "file";
+    private static final String BACKEND_NIO = "nio";
+    private static final String BACKEND_MEMORY = "memory";
+    // pool capacity kept available for queries and charts in addition to the databases held open for writing
+    private static final int POOL_RESERVE = 100;
+    private static final int LOCK_STRIPES = 64;
+
+    private final RRD4jDatabaseCache databaseCache = new RRD4jDatabaseCache();
+    private final Lock[] databaseLocks = Stream.generate(ReentrantLock::new).limit(LOCK_STRIPES).toArray(Lock[]::new);
+    // databases held by the memory backend, and those of them changed since they were last written to disk
+    private final Set<String> memoryDatabases = ConcurrentHashMap.newKeySet();
+    private final Set<String> modifiedMemoryDatabases = ConcurrentHashMap.newKeySet();
+    private String backend = BACKEND_DEFAULT;
+    private @Nullable ScheduledFuture<?> snapshotJob;
+
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
     private boolean active = false;
@@ -150,6 +180,11 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return DATABASE_POOL;
     }
 
+    public static RrdBackendFactory getBackendFactory() {
+        RrdBackendFactory factory = backendFactory;
+        return factory != null ? factory : RrdBackendFactory.getDefaultFactory();
+    }
+
     private final ScheduledFuture<?> storeJob;
 
     @Activate
@@ -204,6 +239,30 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         defaultOther.addArchives("LAST,0.5,1,720:LAST,0.5,12,10080:LAST,0.5,180,35040:LAST,0.5,2880,21900");
         rrdDefs.put(DEFAULT_OTHER, defaultOther);
 
+        int maxOpenDatabases = Math
+                .max(ConfigParser.valueAsOrElse(config.get(CONFIG_MAX_OPEN_DATABASES), Integer.class, 0), 0);
+        if (maxOpenDatabases + POOL_RESERVE > DATABASE_POOL.getCapacity()) {
+            DATABASE_POOL.setCapacity(maxOpenDatabases + POOL_RESERVE);
+        }
+        closeDatabases(databaseCache.setCapacity(maxOpenDatabases));
+
+        String newBackend = ConfigParser.valueAsOrElse(config.get(CONFIG_BACKEND), String.class, BACKEND_DEFAULT)
+                .trim().toLowerCase(Locale.ROOT);
+        if (!newBackend.equals(backend)) {
+            switchBackend(newBackend);
+        }
+        ScheduledFuture<?> job = snapshotJob;
+        if (job != null) {
+            job.cancel(false);
+            snapshotJob = null;
+        }
+        if (BACKEND_MEMORY.equals(backend)) {
+            long snapshotInterval = Math
+                    .max(ConfigParser.valueAsOrElse(config.get(CONFIG_SNAPSHOT_INTERVAL), Integer.class, 5), 1);
+            snapshotJob = scheduler.scheduleWithFixedDelay(this::writeSnapshots, snapshotInterval, snapshotInterval,
+                    TimeUnit.MINUTES);
+        }
+
         if (config.isEmpty()) {
             logger.debug("using default configuration only");
             return;
@@ -213,8 +272,9 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         while (keys.hasNext()) {
             String key = keys.next();
 
-            if ("service.pid".equals(key) || "component.name".equals(key)) {
-                // ignore service.pid and name
+            if ("service.pid".equals(key) || "component.name".equals(key) || CONFIG_MAX_OPEN_DATABASES.equals(key)
+                    || CONFIG_BACKEND.equals(key) || CONFIG_SNAPSHOT_INTERVAL.equals(key)) {
+                // ignore service.pid and name and the already processed service options
                 continue;
             }
 
@@ -275,6 +335,12 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
         // make sure we really store everything
         doStore(true);
+        ScheduledFuture<?> job = snapshotJob;
+        if (job != null) {
+            job.cancel(false);
+        }
+        // writes the memory databases to disk and releases the backend
+        switchBackend(BACKEND_DEFAULT);
     }
 
     @Override
@@ -342,30 +408,53 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private void doStore(boolean force) {
         long now = System.currentTimeMillis() / 1000;
+        // collect the pending samples per database, so every database is only opened once
+        Map<String, List<Map.Entry<Key, Double>>> pendingSamples = new LinkedHashMap<>();
         while (!storageMap.isEmpty()) {
             Key key = storageMap.firstKey();
             if (now > key.timestamp || force) {
                 // no new elements can be added for this timestamp because we are already past that time or the service
                 // requires forced storing
-                Double value = storageMap.pollFirstEntry().getValue();
-                writePointToDatabase(key.name, value, key.timestamp);
+                Map.Entry<Key, Double> sample = storageMap.pollFirstEntry();
+                pendingSamples.computeIfAbsent(sample.getKey().name, k -> new ArrayList<>()).add(sample);
             } else {
-                return;
+                break;
             }
         }
+        pendingSamples.forEach(this::writePointsToDatabase);
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
-        RrdDb db = null;
+    private void writePointsToDatabase(String name, List<Map.Entry<Key, Double>> samples) {
+        List<Map.Entry<String, RrdDb>> evicted;
+        Lock lock = getDatabaseLock(name);
+        lock.lock();
         try {
-            db = getDB(name, true);
-        } catch (Exception e) {
-            logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
-        }
-        if (db == null) {
-            return;
+            RrdDb db = databaseCache.get(name);
+            if (db == null) {
+                try {
+                    db = getDB(name, true);
+                } catch (Exception e) {
+                    logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+                }
+                if (db == null) {
+                    return;
+                }
+            }
+            for (Map.Entry<Key, Double> sample : samples) {
+                writePointToDatabase(db, name, sample.getValue(), sample.getKey().timestamp);
+            }
+            if (memoryDatabases.contains(name)) {
+                modifiedMemoryDatabases.add(name);
+            }
+            // returns the database itself if it is not kept open
+            evicted = databaseCache.put(name, db);
+        } finally {
+            lock.unlock();
         }
+        closeDatabases(evicted);
+    }
 
+    private void writePointToDatabase(RrdDb db, String name, double value, long timestamp) {
         ConsolFun function = getConsolidationFunction(db);
         if (function != ConsolFun.AVERAGE) {
             try {
@@ -400,13 +489,116 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
+    }
+
+    /**
+     * Closes databases which are no longer kept open, after any pending write to them has finished.
+     */
+    private void closeDatabases(List<Map.Entry<String, RrdDb>> databases) {
+        for (Map.Entry<String, RrdDb> database : databases) {
+            Lock lock = getDatabaseLock(database.getKey());
+            lock.lock();
+            try {
+                database.getValue().close();
+            } catch (IOException e) {
+                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Closes the database if it is kept open for writing, e.g. before its file is deleted.
+     *
+     * @param name the name of the database
+     */
+    public void releaseDatabase(String name) {
+        memoryDatabases.remove(name);
+        modifiedMemoryDatabases.remove(name);
+        RrdDb db = databaseCache.remove(name);
+        if (db != null) {
+            closeDatabases(List.of(Map.entry(name, db)));
+        }
+    }
+
+    /**
+     * Changes the backend used for opening databases.
+     *
+     * All databases are closed and the content of the memory backend is written to disk before, so no data is lost
+     * and the new backend continues from the files.
+     */
+    private void switchBackend(String newBackend) {
+        RrdBackendFactory newFactory = switch (newBackend) {
+            case BACKEND_FILE -> new RrdRandomAccessFileBackendFactory();
+            case BACKEND_NIO -> new RrdNioBackendFactory();
+            case BACKEND_MEMORY -> new RrdMemoryBackendFactory();
+            default -> {
+                if (!BACKEND_DEFAULT.equals(newBackend)) {
+                    logger.warn("Unknown rrd4j backend '{}', using the default backend", newBackend);
+                }
+                yield null;
+            }
+        };
+        for (Lock lock : databaseLocks) {
+            lock.lock();
+        }
         try {
-            db.close();
+            closeDatabases(databaseCache.clear());
+            writeSnapshots();
+            memoryDatabases.clear();
+            modifiedMemoryDatabases.clear();
+            RrdBackendFactory oldFactory = backendFactory;
+            backendFactory = newFactory;
+            backend = newFactory != null ? newBackend : BACKEND_DEFAULT;
+            if (oldFactory != null) {
+                oldFactory.close();
+            }
+            logger.debug("Using rrd4j backend '{}'", backend);
         } catch (IOException e) {
-            logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            logger.debug("Error closing rrd4j backend: {}", e.getMessage());
+        } finally {
+            for (Lock lock : databaseLocks) {
+                lock.unlock();
+            }
         }
     }
 
+    /**
+     * Writes the databases of the memory backend which were changed since the last snapshot to disk.
+     */
+    private void writeSnapshots() {
+        for (String name : List.copyOf(modifiedMemoryDatabases)) {
+            modifiedMemoryDatabases.remove(name);
+            Path path = getDatabasePath(name);
+            Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+            Lock lock = getDatabaseLock(name);
+            lock.lock();
+            try {
+                RrdDb db = RrdDb.getBuilder().setPool(DATABASE_POOL).setBackendFactory(getBackendFactory())
+                        .setPath(path.toString()).build();
+                byte[] bytes;
+                try {
+                    bytes = db.getBytes();
+                } finally {
+                    db.close();
+                }
+                // replace the file at once, so it is never left incomplete
+                Files.write(tempPath, bytes);
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                modifiedMemoryDatabases.add(name);
+                logger.warn("Could not write rrd4j database '{}' to disk: {}", path, e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Lock getDatabaseLock(String name) {
+        return databaseLocks[Math.floorMod(name.hashCode(), LOCK_STRIPES)];
+    }
+
     @Override
     public void store(Item item) {
         store(item, null);
@@ -688,17 +880,31 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
+        Lock lock = getDatabaseLock(alias);
+        lock.lock();
         try {
+            RrdBackendFactory factory = getBackendFactory();
+            boolean inMemory = factory instanceof RrdMemoryBackendFactory;
             Builder builder = RrdDb.getBuilder();
             builder.setPool(DATABASE_POOL);
+            builder.setBackendFactory(factory);
 
-            if (Files.exists(path)) {
-                // recreate the RrdDb instance from the file
+            if (inMemory ? memoryDatabases.contains(alias) : Files.exists(path)) {
+                // recreate the RrdDb instance from the file or memory
                 builder.setPath(path.toString());
                 db = builder.build();
+            } else if (inMemory && Files.exists(path)) {
+                // load the file into memory
+                try (RrdDb fileDb = RrdDb.getBuilder().setPath(path.toString())
+                        .setBackendFactory(new RrdRandomAccessFileBackendFactory()).readOnly().build()) {
+                    builder.setRrdDef(fileDb.getRrdDef());
+                    db = builder.build();
+                    fileDb.copyStateTo(db);
+                }
+                memoryDatabases.add(alias);
             } else if (createFileIfAbsent) {
                 if (!Files.exists(DB_FOLDER)) {
                     Files.createDirectories(DB_FOLDER);
@@ -708,6 +914,10 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                     // create a new database file
                     builder.setRrdDef(rrdDef);
                     db = builder.build();
+                    if (inMemory) {
+                        memoryDatabases.add(alias);
+                        modifiedMemoryDatabases.add(alias);
+                    }
                 } else {
                     logger.debug(
                             "Did not create rrd4j database for item '{}' since no rrd definition could be determined. This is likely due to an unsupported item type.",
@@ -719,10 +929,41 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (RejectedExecutionException e) {
             // this happens if the system is shut down
             logger.debug("Could not create rrd4j database file '{}': {}", path, e.getMessage());
+        } finally {
+            lock.unlock();
         }
         return db;
     }
 
+    /**
+     * Fetches the values of a database for drawing a chart. The database is opened like for a query, so with the
+     * memory backend a database which has not been used since startup is loaded from its file first.
+     *
+     * @param name the item name or alias of the database
+     * @param start the start of the chart in seconds since the epoch
+     * @param end the end of the chart in seconds since the epoch
+     * @param resolution the time span of one pixel of the chart in seconds
+     * @return the fetched values, or <code>null</code> if there is no database
+     * @throws IOException if the database could not be read
+     */
+    public @Nullable FetchData fetchChartData(String name, long start, long end, long resolution) throws IOException {
+        Lock lock = getDatabaseLock(name);
+        lock.lock();
+        try {
+            RrdDb db = getDB(name, false);
+            if (db == null) {
+                return null;
+            }
+            try {
+                return db.createFetchRequest(getConsolidationFunction(db), start, end, resolution).fetchData();
+            } finally {
+                db.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
     private @Nullable RrdDefConfig getRrdDefConfig(String itemName) {
         RrdDefConfig useRdc = null;
         for (Map.Entry<String, RrdDefConfig> e : rrdDefs.entrySet()) {
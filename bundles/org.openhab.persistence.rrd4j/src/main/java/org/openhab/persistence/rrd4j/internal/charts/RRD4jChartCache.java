@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal.charts;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.ItemNotFoundException;
+
+/**
+ * The {@link RRD4jChartCache} keeps rendered and encoded charts until the underlying data may have changed.
+ *
+ * Concurrent requests for a chart which is not cached wait for a single rendering and share its result.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+class RRD4jChartCache {
+    private static final int MAX_SIZE = 100;
+
+    private final Map<ChartKey, CompletableFuture<Chart>> charts = new ConcurrentHashMap<>();
+
+    /**
+     * The request parameters of a chart, which render the same image for the same point in time.
+     */
+    record ChartKey(@Nullable String items, @Nullable String groups, Duration period, int width, int height) {
+    }
+
+    /**
+     * An encoded chart and the time until it can be served from the cache.
+     */
+    record Chart(byte[] image, Instant expires) {
+    }
+
+    @FunctionalInterface
+    interface ChartRenderer {
+        Chart render() throws ItemNotFoundException, IOException;
+    }
+
+    /**
+     * Returns the cached chart, or renders it if it is not cached or has expired.
+     *
+     * @param key the chart parameters
+     * @param renderer renders and encodes the chart
+     * @return the encoded chart
+     */
+    byte[] get(ChartKey key, ChartRenderer renderer) throws ItemNotFoundException, IOException {
+        Instant now = Instant.now();
+        CompletableFuture<Chart> rendering = new CompletableFuture<>();
+        CompletableFuture<Chart> future = charts.compute(key,
+                (k, cached) -> cached != null && !isExpired(cached, now) ? cached : rendering);
+        if (future == rendering) {
+            if (charts.size() > MAX_SIZE) {
+                evict(now);
+            }
+            try {
+                rendering.complete(renderer.render());
+            } catch (ItemNotFoundException | IOException | RuntimeException e) {
+                charts.remove(key, rendering);
+                rendering.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join().image();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ItemNotFoundException itemNotFoundException) {
+                throw itemNotFoundException;
+            } else if (cause instanceof IOException ioException) {
+                throw ioException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    void clear() {
+        charts.clear();
+    }
+
+    private void evict(Instant now) {
+        charts.values().removeIf(future -> isExpired(future, now));
+        if (charts.size() > MAX_SIZE) {
+            // charts which are still rendering are kept, so requests waiting for them are not affected
+            charts.values().removeIf(CompletableFuture::isDone);
+        }
+    }
+
+    private boolean isExpired(CompletableFuture<Chart> future, Instant now) {
+        // a chart which is still rendering never expires, so concurrent requests wait for it
+        return future.isDone() && (future.isCompletedExceptionally() || future.join().expires().isBefore(now));
+    }
+}
@@ -17,9 +17,11 @@ import static java.util.Map.entry;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Hashtable;
 import java.util.Map;
@@ -38,20 +40,22 @@ import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.persistence.PersistenceService;
+import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.core.persistence.registry.PersistenceServiceConfiguration;
 import org.openhab.core.persistence.registry.PersistenceServiceConfigurationRegistry;
 import org.openhab.core.ui.chart.ChartProvider;
 import org.openhab.core.ui.items.ItemUIRegistry;
 import org.openhab.persistence.rrd4j.internal.RRD4jPersistenceService;
+import org.openhab.persistence.rrd4j.internal.charts.RRD4jChartCache.Chart;
+import org.openhab.persistence.rrd4j.internal.charts.RRD4jChartCache.ChartKey;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.http.HttpService;
 import org.osgi.service.http.NamespaceException;
-import org.rrd4j.ConsolFun;
-import org.rrd4j.core.RrdDb;
-import org.rrd4j.core.RrdDb.Builder;
+import org.rrd4j.core.FetchData;
 import org.rrd4j.graph.RrdGraph;
 import org.rrd4j.graph.RrdGraphConstants.FontTag;
 import org.rrd4j.graph.RrdGraphDef;
@@ -109,15 +113,19 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     private final ItemUIRegistry itemUIRegistry;
     private final TimeZoneProvider timeZoneProvider;
     private final PersistenceServiceConfigurationRegistry persistenceServiceConfigurationRegistry;
+    private final PersistenceServiceRegistry persistenceServiceRegistry;
+    private final RRD4jChartCache chartCache = new RRD4jChartCache();
 
     @Activate
     public RRD4jChartServlet(final @Reference HttpService httpService, final @Reference ItemUIRegistry itemUIRegistry,
             final @Reference TimeZoneProvider timeZoneProvider,
-            final @Reference PersistenceServiceConfigurationRegistry persistenceServiceConfigurationRegistry) {
+            final @Reference PersistenceServiceConfigurationRegistry persistenceServiceConfigurationRegistry,
+            final @Reference PersistenceServiceRegistry persistenceServiceRegistry) {
         this.httpService = httpService;
         this.itemUIRegistry = itemUIRegistry;
         this.timeZoneProvider = timeZoneProvider;
         this.persistenceServiceConfigurationRegistry = persistenceServiceConfigurationRegistry;
+        this.persistenceServiceRegistry = persistenceServiceRegistry;
     }
 
     @Activate
@@ -133,6 +141,7 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     @Deactivate
     protected void deactivate() {
         httpService.unregister(SERVLET_NAME);
+        chartCache.clear();
     }
 
     @Override
@@ -144,16 +153,24 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         String periodParam = req.getParameter("period");
         Duration period = periodParam == null ? DEFAULT_PERIOD : PERIODS.getOrDefault(periodParam, DEFAULT_PERIOD);
 
-        // Create the start and stop time
-        ZonedDateTime timeEnd = ZonedDateTime.now(timeZoneProvider.getTimeZone());
-        ZonedDateTime timeBegin = timeEnd.minus(period);
+        String items = req.getParameter("items");
+        String groups = req.getParameter("groups");
 
         try {
-            BufferedImage chart = createChart(null, null, timeBegin, timeEnd, height, width, req.getParameter("items"),
-                    req.getParameter("groups"), null, null, null);
+            byte[] chart = chartCache.get(new ChartKey(items, groups, period, width, height), () -> {
+                // Create the start and stop time
+                ZonedDateTime timeEnd = ZonedDateTime.now(timeZoneProvider.getTimeZone());
+                ZonedDateTime timeBegin = timeEnd.minus(period);
+                RenderedChart rendered = renderChart(timeBegin, timeEnd, height, width, items, groups);
+                ByteArrayOutputStream image = new ByteArrayOutputStream();
+                ImageIO.write(rendered.image(), getChartType().toString(), image);
+                // charts rendered within one database step or the time span of one pixel look the same
+                long validSeconds = Math.max(rendered.step(), period.toSeconds() / Math.max(width, 1));
+                return new Chart(image.toByteArray(), Instant.now().plusSeconds(Math.max(validSeconds, 1)));
+            });
             // Set the content type to that provided by the chart provider
             res.setContentType("image/" + getChartType());
-            ImageIO.write(chart, getChartType().toString(), res.getOutputStream());
+            res.getOutputStream().write(chart);
         } catch (ItemNotFoundException e) {
             logger.debug("Item not found error while generating chart", e);
             throw new ServletException("Item not found error while generating chart: " + e.getMessage());
@@ -183,38 +200,53 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
      * @param graphDef the graph definition to fill
      * @param item the item to add a line for
      * @param counter defines the number of the datasource and is used to determine the line color
+     * @param start the start of the chart in seconds since the epoch
+     * @param end the end of the chart in seconds since the epoch
+     * @param resolution the time span of one pixel in seconds
+     * @return the step of the fetched values in seconds, or 0 if the database could not be read
      */
-    protected void addLine(RrdGraphDef graphDef, Item item, @Nullable String alias, int counter) {
+    protected long addLine(RrdGraphDef graphDef, Item item, @Nullable String alias, int counter, long start, long end,
+            long resolution) {
         Color color = LINECOLORS[counter % LINECOLORS.length];
         String label = itemUIRegistry.getLabel(item.getName());
-        String rrdName = RRD4jPersistenceService.getDatabasePath(alias != null ? alias : item.getName()).toString();
-        ConsolFun consolFun;
+        String name = alias != null ? alias : item.getName();
         if (label != null && label.contains("[") && label.contains("]")) {
             label = label.substring(0, label.indexOf('['));
         }
+        RRD4jPersistenceService persistenceService = getPersistenceService();
+        if (persistenceService == null) {
+            logger.debug("No RRD4j persistence service available, skipping item '{}' in chart", item.getName());
+            return 0;
+        }
+        FetchData data;
         try {
-            Builder builder = RrdDb.getBuilder();
-            builder.setPool(RRD4jPersistenceService.getDatabasePool());
-            builder.setPath(rrdName);
-
-            RrdDb db = builder.build();
-            consolFun = db.getRrdDef().getArcDefs()[0].getConsolFun();
-            db.close();
+            // fetch through the service, so databases of the memory backend are loaded and not read while written
+            data = persistenceService.fetchChartData(name, start, end, resolution);
         } catch (IOException e) {
-            consolFun = ConsolFun.MAX;
+            logger.debug("Could not read rrd4j database '{}' for chart: {}", name, e.getMessage());
+            return 0;
         }
-        if (item instanceof NumberItem) {
-            // we only draw a line
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
-            graphDef.line(Integer.toString(counter), color, label, 2);
-        } else {
-            // we draw a line and fill the area beneath it with a transparent color
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
+        if (data == null) {
+            logger.debug("No rrd4j database '{}', skipping item '{}' in chart", name, item.getName());
+            return 0;
+        }
+        graphDef.datasource(Integer.toString(counter), "state", data);
+        if (!(item instanceof NumberItem)) {
+            // we fill the area beneath the line with a transparent color
             Color areaColor = AREACOLORS[counter % LINECOLORS.length];
-
             graphDef.area(Integer.toString(counter), areaColor);
-            graphDef.line(Integer.toString(counter), color, label, 2);
         }
+        graphDef.line(Integer.toString(counter), color, label, 2);
+        return data.getStep();
+    }
+
+    private @Nullable RRD4jPersistenceService getPersistenceService() {
+        for (PersistenceService persistenceService : persistenceServiceRegistry.getAll()) {
+            if (persistenceService instanceof RRD4jPersistenceService service) {
+                return service;
+            }
+        }
+        return null;
     }
 
     @Override
@@ -248,7 +280,21 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             ZonedDateTime endTime, int height, int width, @Nullable String items, @Nullable String groups,
             @Nullable Integer dpi, @Nullable String interpolation, @Nullable Boolean legend)
             throws ItemNotFoundException {
-        RrdGraphDef graphDef = new RrdGraphDef(startTime.toEpochSecond(), endTime.toEpochSecond());
+        return renderChart(startTime, endTime, height, width, items, groups).image();
+    }
+
+    /**
+     * A rendered chart and the smallest step of its databases in seconds.
+     */
+    private record RenderedChart(BufferedImage image, long step) {
+    }
+
+    private RenderedChart renderChart(ZonedDateTime startTime, ZonedDateTime endTime, int height, int width,
+            @Nullable String items, @Nullable String groups) throws ItemNotFoundException {
+        long start = startTime.toEpochSecond();
+        long end = endTime.toEpochSecond();
+        long resolution = Math.max((end - start) / Math.max(width, 1), 1);
+        RrdGraphDef graphDef = new RrdGraphDef(start, end);
         graphDef.setWidth(width);
         graphDef.setHeight(height);
         graphDef.setAntiAliasing(true);
@@ -261,6 +307,7 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
                 .get(RRD4jPersistenceService.SERVICE_ID);
 
         int seriesCounter = 0;
+        long step = Long.MAX_VALUE;
 
         // Loop through all the items
         if (items != null) {
@@ -268,7 +315,7 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             for (String itemName : itemNames) {
                 String alias = config != null ? config.getAliases().get(itemName) : null;
                 Item item = itemUIRegistry.getItem(itemName);
-                addLine(graphDef, item, alias, seriesCounter++);
+                step = Math.min(step, addLine(graphDef, item, alias, seriesCounter++, start, end, resolution));
             }
         }
 
@@ -280,7 +327,8 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
                 if (item instanceof GroupItem groupItem) {
                     for (Item member : groupItem.getMembers()) {
                         String alias = config != null ? config.getAliases().get(member.getName()) : null;
-                        addLine(graphDef, member, alias, seriesCounter++);
+                        step = Math.min(step,
+                                addLine(graphDef, member, alias, seriesCounter++, start, end, resolution));
                     }
                 } else {
                     throw new ItemNotFoundException("Item '" + item.getName() + "' defined in groups is not a group.");
@@ -294,7 +342,7 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             BufferedImage bi = new BufferedImage(graph.getRrdGraphInfo().getWidth(),
                     graph.getRrdGraphInfo().getHeight(), BufferedImage.TYPE_INT_RGB);
             graph.render(bi.getGraphics());
-            return bi;
+            return new RenderedChart(bi, step == Long.MAX_VALUE ? 0 : step);
         } catch (IOException e) {
             throw new UncheckedIOException("Error generating RrdGraph", e);
         }
@@ -141,11 +141,14 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
                 if (checkOnly) {
                     console.println("  - " + filename + ": no item found");
                     nb++;
-                } else if (path.toFile().delete()) {
-                    console.println("  - " + filename + ": file deleted");
-                    nb++;
                 } else {
-                    console.println("  - " + filename + ": file deletion failed!");
+                    persistenceService.releaseDatabase(name);
+                    if (path.toFile().delete()) {
+                        console.println("  - " + filename + ": file deleted");
+                        nb++;
+                    } else {
+                        console.println("  - " + filename + ": file deletion failed!");
+                    }
                 }
             }
         }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.rrd4j.core.RrdDb;
+
+/**
+ * Tests the {@link RRD4jDatabaseCache}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jDatabaseCacheTest {
+
+    private final RRD4jDatabaseCache cache = new RRD4jDatabaseCache();
+    private final RrdDb db1 = mock(RrdDb.class);
+    private final RrdDb db2 = mock(RrdDb.class);
+    private final RrdDb db3 = mock(RrdDb.class);
+
+    @Test
+    public void putEvictsLeastRecentlyUsedDatabase() {
+        cache.setCapacity(2);
+        cache.put("Item1", db1);
+        cache.put("Item2", db2);
+        // marks Item1 as most recently used
+        assertThat(cache.get("Item1"), is(db1));
+
+        assertThat(cache.put("Item3", db3), is(List.of(Map.entry("Item2", db2))));
+        assertThat(cache.get("Item1"), is(db1));
+        assertThat(cache.get("Item2"), is(nullValue()));
+        assertThat(cache.get("Item3"), is(db3));
+    }
+
+    @Test
+    public void setCapacityEvictsLeastRecentlyUsedDatabasesFirst() {
+        cache.setCapacity(3);
+        cache.put("Item1", db1);
+        cache.put("Item2", db2);
+        cache.put("Item3", db3);
+        cache.get("Item1");
+
+        assertThat(cache.setCapacity(1), is(List.of(Map.entry("Item2", db2), Map.entry("Item3", db3))));
+        assertThat(cache.size(), is(1));
+        assertThat(cache.get("Item1"), is(db1));
+    }
+
+    @Test
+    public void putWithoutCapacityReturnsAddedDatabase() {
+        assertThat(cache.put("Item1", db1), is(List.of(Map.entry("Item1", db1))));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void putOfOtherDatabaseForSameNameReturnsPreviousDatabase() {
+        cache.setCapacity(2);
+        cache.put("Item1", db1);
+
+        assertThat(cache.put("Item1", db1), is(List.of()));
+        assertThat(cache.put("Item1", db2), is(List.of(Map.entry("Item1", db1))));
+        assertThat(cache.get("Item1"), is(db2));
+    }
+
+    @Test
+    public void getForgetsClosedDatabase() {
+        cache.setCapacity(2);
+        cache.put("Item1", db1);
+        when(db1.isClosed()).thenReturn(true);
+
+        assertThat(cache.get("Item1"), is(nullValue()));
+        assertThat(cache.size(), is(0));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.PersistedItem;
+import org.openhab.core.types.State;
+import org.openhab.core.test.java.JavaTest;
+import org.rrd4j.core.RrdDb;
+
+/**
+ * Tests the databases kept open for writing by the {@link RRD4jPersistenceService}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jPersistenceServiceTest extends JavaTest {
+
+    private static final String ITEM1 = "CacheItem1";
+    private static final String ITEM2 = "CacheItem2";
+
+    private final ItemRegistry itemRegistry = mock(ItemRegistry.class);
+    private final NumberItem item1 = new NumberItem(ITEM1);
+    private final NumberItem item2 = new NumberItem(ITEM2);
+    private @NonNullByDefault({}) TestPersistenceService service;
+
+    @BeforeAll
+    static void beforeAll() {
+        Path mavenTargetFolder = Path.of("target");
+        assertTrue(Files.exists(mavenTargetFolder), "Maven target folder does not exist.");
+        System.setProperty("openhab.userdata", mavenTargetFolder.toAbsolutePath().toString());
+    }
+
+    @BeforeEach
+    public void setup() throws IOException, ItemNotFoundException {
+        deleteDatabaseFiles();
+        when(itemRegistry.getItem(ITEM1)).thenReturn(item1);
+        when(itemRegistry.getItem(ITEM2)).thenReturn(item2);
+        service = new TestPersistenceService(itemRegistry, Map.of("maxOpenDatabases", 1));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        service.stop();
+        deleteDatabaseFiles();
+    }
+
+    private void deleteDatabaseFiles() throws IOException {
+        Files.deleteIfExists(RRD4jPersistenceService.getDatabasePath(ITEM1));
+        Files.deleteIfExists(RRD4jPersistenceService.getDatabasePath(ITEM2));
+    }
+
+    private @Nullable State persistedState(String name) {
+        PersistedItem persistedItem = service.persistedItem(name, null);
+        return persistedItem != null ? persistedItem.getState() : null;
+    }
+
+    @Test
+    public void evictedDatabasesAreClosedWhileHeldDatabaseKeepsWorking() {
+        item1.setState(new DecimalType(1));
+        item2.setState(new DecimalType(2));
+        service.store(item1);
+        service.store(item2);
+
+        // the databases are written in the order of their names, so only the database of the second item is kept
+        waitForAssert(() -> assertThat(service.openedForWriting.size(), is(2)));
+        RrdDb db1 = service.openedForWriting.get(0);
+        RrdDb db2 = service.openedForWriting.get(1);
+        waitForAssert(() -> assertThat(db1.isClosed(), is(true)));
+        assertThat(db2.isClosed(), is(false));
+        assertThat(persistedState(ITEM1), is(new DecimalType(1)));
+
+        item2.setState(new DecimalType(3));
+        service.store(item2);
+
+        waitForAssert(() -> assertThat(persistedState(ITEM2), is(new DecimalType(3))));
+        // the held database was written again without being opened again
+        assertThat(service.openedForWriting, is(List.of(db1, db2)));
+        assertThat(db2.isClosed(), is(false));
+    }
+
+    private static class TestPersistenceService extends RRD4jPersistenceService {
+        private final List<RrdDb> openedForWriting = new CopyOnWriteArrayList<>();
+
+        public TestPersistenceService(ItemRegistry itemRegistry, Map<String, Object> config) {
+            super(itemRegistry, config);
+        }
+
+        @Override
+        protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+            RrdDb db = super.getDB(alias, createFileIfAbsent);
+            if (createFileIfAbsent && db != null) {
+                openedForWriting.add(db);
+            }
+            return db;
+        }
+
+        public void stop() {
+            deactivate();
+        }
+    }
+}
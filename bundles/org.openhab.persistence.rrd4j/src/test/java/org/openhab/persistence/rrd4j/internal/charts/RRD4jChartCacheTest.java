@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal.charts;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.test.java.JavaTest;
+import org.openhab.persistence.rrd4j.internal.charts.RRD4jChartCache.Chart;
+import org.openhab.persistence.rrd4j.internal.charts.RRD4jChartCache.ChartKey;
+import org.openhab.persistence.rrd4j.internal.charts.RRD4jChartCache.ChartRenderer;
+
+/**
+ * Tests the {@link RRD4jChartCache}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jChartCacheTest extends JavaTest {
+
+    private static final ChartKey KEY = new ChartKey("Item1", null, Duration.ofDays(1), 480, 240);
+
+    private final RRD4jChartCache cache = new RRD4jChartCache();
+    private final AtomicInteger renderCount = new AtomicInteger();
+
+    /**
+     * Returns a renderer which encodes the number of the rendering as image.
+     */
+    private ChartRenderer renderer(Instant expires) {
+        return () -> new Chart(new byte[] { (byte) renderCount.incrementAndGet() }, expires);
+    }
+
+    private Thread getInThread(ChartRenderer renderer, CompletableFuture<byte[]> result) {
+        Thread thread = new Thread(() -> {
+            try {
+                result.complete(cache.get(KEY, renderer));
+            } catch (ItemNotFoundException | IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    @Test
+    public void concurrentRequestsShareOneRendering() throws Exception {
+        CompletableFuture<@Nullable Void> release = new CompletableFuture<>();
+        // already expired, so a request which did not wait for this rendering would render again
+        ChartRenderer blockingRenderer = () -> {
+            Chart chart = renderer(Instant.EPOCH).render();
+            release.join();
+            return chart;
+        };
+        CompletableFuture<byte[]> firstResult = new CompletableFuture<>();
+        CompletableFuture<byte[]> secondResult = new CompletableFuture<>();
+
+        getInThread(blockingRenderer, firstResult);
+        waitForAssert(() -> assertThat(renderCount.get(), is(1)));
+        Thread second = getInThread(blockingRenderer, secondResult);
+        waitForAssert(() -> assertThat(second.getState(), is(Thread.State.WAITING)));
+        release.complete(null);
+
+        assertThat(firstResult.get(5, TimeUnit.SECONDS), is(new byte[] { 1 }));
+        assertThat(secondResult.get(5, TimeUnit.SECONDS), is(new byte[] { 1 }));
+        assertThat(renderCount.get(), is(1));
+    }
+
+    @Test
+    public void chartIsServedFromCacheUntilItExpires() throws Exception {
+        ChartRenderer renderer = renderer(Instant.now().plusSeconds(60));
+
+        assertThat(cache.get(KEY, renderer), is(new byte[] { 1 }));
+        assertThat(cache.get(KEY, renderer), is(new byte[] { 1 }));
+        assertThat(renderCount.get(), is(1));
+    }
+
+    @Test
+    public void expiredChartIsRenderedAgain() throws Exception {
+        ChartRenderer renderer = renderer(Instant.now().minusSeconds(1));
+
+        assertThat(cache.get(KEY, renderer), is(new byte[] { 1 }));
+        assertThat(cache.get(KEY, renderer), is(new byte[] { 2 }));
+        assertThat(renderCount.get(), is(2));
+    }
+
+    @Test
+    public void failedRenderingIsNotCached() throws Exception {
+        assertThrows(IOException.class, () -> cache.get(KEY, () -> {
+            renderCount.incrementAndGet();
+            throw new IOException("encoding failed");
+        }));
+        assertThrows(ItemNotFoundException.class, () -> cache.get(KEY, () -> {
+            renderCount.incrementAndGet();
+            throw new ItemNotFoundException("Item1");
+        }));
+
+        assertThat(cache.get(KEY, renderer(Instant.now().plusSeconds(60))), is(new byte[] { 3 }));
+        assertThat(renderCount.get(), is(3));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal.charts;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.persistence.PersistenceServiceRegistry;
+import org.openhab.core.persistence.registry.PersistenceServiceConfigurationRegistry;
+import org.openhab.core.ui.items.ItemUIRegistry;
+import org.openhab.persistence.rrd4j.internal.RRD4jPersistenceService;
+import org.osgi.service.http.HttpService;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
+import org.rrd4j.core.Sample;
+
+/**
+ * Tests the {@link RRD4jChartServlet}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jChartServletTest {
+
+    private static final String ITEM_NAME = "ChartItem";
+    private static final int WIDTH = 480;
+    private static final int HEIGHT = 240;
+    private static final long STEP = 10;
+
+    private final ItemUIRegistry itemUIRegistry = mock(ItemUIRegistry.class);
+    private final PersistenceServiceRegistry persistenceServiceRegistry = mock(PersistenceServiceRegistry.class);
+    private final ZonedDateTime end = ZonedDateTime.now(ZoneId.of("UTC"));
+    private @NonNullByDefault({}) TestPersistenceService persistenceService;
+    private @NonNullByDefault({}) RRD4jChartServlet servlet;
+
+    @BeforeAll
+    static void beforeAll() {
+        Path mavenTargetFolder = Path.of("target");
+        assertTrue(Files.exists(mavenTargetFolder), "Maven target folder does not exist.");
+        System.setProperty("openhab.userdata", mavenTargetFolder.toAbsolutePath().toString());
+    }
+
+    @BeforeEach
+    public void setup() throws IOException, ItemNotFoundException {
+        writeDatabaseFile();
+
+        persistenceService = new TestPersistenceService(mock(ItemRegistry.class), Map.of("backend", "memory"));
+        when(persistenceServiceRegistry.getAll()).thenReturn(List.of(persistenceService));
+        when(itemUIRegistry.getItem(ITEM_NAME)).thenReturn(new NumberItem(ITEM_NAME));
+
+        servlet = new RRD4jChartServlet(mock(HttpService.class), itemUIRegistry, mock(TimeZoneProvider.class),
+                mock(PersistenceServiceConfigurationRegistry.class), persistenceServiceRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        persistenceService.stop();
+        Files.deleteIfExists(RRD4jPersistenceService.getDatabasePath(ITEM_NAME));
+    }
+
+    @Test
+    public void chartOfMemoryBackendShowsDatabaseNotLoadedBefore() throws ItemNotFoundException {
+        BufferedImage chart = servlet.createChart(null, null, end.minusHours(1), end, HEIGHT, WIDTH, ITEM_NAME, null,
+                null, null, null);
+
+        // the line of the first item is red, without data only the axis arrows would be drawn in red
+        assertThat(countRedPixels(chart), greaterThan(WIDTH / 2));
+    }
+
+    private void writeDatabaseFile() throws IOException {
+        Path path = RRD4jPersistenceService.getDatabasePath(ITEM_NAME);
+        Files.createDirectories(path.getParent());
+        Files.deleteIfExists(path);
+
+        long endSeconds = end.toEpochSecond();
+        long startSeconds = endSeconds - 2 * 3600;
+        RrdDef rrdDef = new RrdDef(path.toString(), startSeconds - STEP, STEP);
+        rrdDef.addDatasource("state", DsType.GAUGE, 600, Double.NaN, Double.NaN);
+        rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 720);
+        try (RrdDb db = RrdDb.getBuilder().setRrdDef(rrdDef).setBackendFactory(new RrdRandomAccessFileBackendFactory())
+                .build()) {
+            for (long time = startSeconds; time <= endSeconds; time += STEP) {
+                Sample sample = db.createSample(time);
+                sample.setValue("state", 50 + 30 * Math.sin(time * Math.PI / 1800));
+                sample.update();
+            }
+        }
+    }
+
+    private int countRedPixels(BufferedImage image) {
+        int count = 0;
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                int rgb = image.getRGB(x, y);
+                if (((rgb >> 16) & 0xff) > 200 && ((rgb >> 8) & 0xff) < 80 && (rgb & 0xff) < 80) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static class TestPersistenceService extends RRD4jPersistenceService {
+        public TestPersistenceService(ItemRegistry itemRegistry, Map<String, Object> config) {
+            super(itemRegistry, config);
+        }
+
+        public void stop() {
+            deactivate();
+        }
+    }
+}
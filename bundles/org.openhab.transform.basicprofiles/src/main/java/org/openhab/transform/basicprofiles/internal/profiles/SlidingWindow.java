@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.util.Statistics;
+
+/**
+ * Keeps the most recent values up to a fixed window size and maintains the aggregates of the
+ * {@link StateFilterProfile} functions incrementally, so adding a value does not require a pass over the window.
+ *
+ * The values are kept in a ring buffer, together with a running sum and sum of squares, monotonic deques for the
+ * minimum and maximum and a sorted copy of the window for the median. Adding a value is O(1) amortized, apart from
+ * the sorted insertion, which is a binary search followed by an array copy.
+ *
+ * All calculations are done on {@link BigDecimal}s, so the aggregates are exactly those of a calculation over the
+ * whole window. Sums are exact for BigDecimals and cannot accumulate rounding errors as the window slides.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+class SlidingWindow {
+    private final BigDecimal[] values;
+    /** Slot of the oldest value */
+    private int head = 0;
+    private int size = 0;
+
+    private BigDecimal sum = BigDecimal.ZERO;
+    private BigDecimal sumOfSquares = BigDecimal.ZERO;
+
+    /** Slots of increasing values, the first one holds the minimum */
+    private final SlotDeque minSlots;
+    /** Slots of decreasing values, the first one holds the maximum */
+    private final SlotDeque maxSlots;
+    private final List<BigDecimal> sorted;
+
+    /**
+     * @param capacity the maximum number of values, must be positive
+     */
+    SlidingWindow(int capacity) {
+        values = new BigDecimal[capacity];
+        minSlots = new SlotDeque(capacity);
+        maxSlots = new SlotDeque(capacity);
+        sorted = new ArrayList<>(capacity);
+    }
+
+    /**
+     * Adds a value, discarding the oldest value if the window is full.
+     *
+     * @param value the value
+     */
+    void add(BigDecimal value) {
+        int slot;
+        if (size == values.length) {
+            slot = head;
+            evict(slot);
+            head = (head + 1) % values.length;
+        } else {
+            slot = (head + size) % values.length;
+            size++;
+        }
+        values[slot] = value;
+
+        sum = sum.add(value);
+        sumOfSquares = sumOfSquares.add(value.multiply(value));
+
+        // keep equal values, so the earliest of several equal extremes is reported
+        while (!minSlots.isEmpty() && values[minSlots.peekLast()].compareTo(value) > 0) {
+            minSlots.pollLast();
+        }
+        minSlots.addLast(slot);
+        while (!maxSlots.isEmpty() && values[maxSlots.peekLast()].compareTo(value) < 0) {
+            maxSlots.pollLast();
+        }
+        maxSlots.addLast(slot);
+
+        int index = Collections.binarySearch(sorted, value);
+        sorted.add(index < 0 ? -index - 1 : index, value);
+    }
+
+    private void evict(int slot) {
+        BigDecimal value = values[slot];
+        sum = sum.subtract(value);
+        sumOfSquares = sumOfSquares.subtract(value.multiply(value));
+        if (minSlots.peekFirst() == slot) {
+            minSlots.pollFirst();
+        }
+        if (maxSlots.peekFirst() == slot) {
+            maxSlots.pollFirst();
+        }
+        sorted.remove(Collections.binarySearch(sorted, value));
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the average, rounded to {@link MathContext#DECIMAL32}
+     */
+    BigDecimal average() {
+        return sum.divide(BigDecimal.valueOf(size), MathContext.DECIMAL32);
+    }
+
+    /**
+     * Calculates the population standard deviation. The deviations are taken from the average rounded to two decimal
+     * places. The sum of their squares is expanded to <code>sum(x²) - 2 * avg * sum(x) + n * avg²</code>, which is
+     * exact for BigDecimals.
+     *
+     * @return the standard deviation, rounded to {@link MathContext#DECIMAL32}
+     */
+    BigDecimal standardDeviation() {
+        BigDecimal count = BigDecimal.valueOf(size);
+        BigDecimal average = sum.divide(count, 2, RoundingMode.HALF_EVEN);
+        BigDecimal squaredDeviations = sumOfSquares.subtract(average.multiply(sum).multiply(BigDecimal.TWO))
+                .add(count.multiply(average).multiply(average));
+        BigDecimal variance = squaredDeviations.divide(count, MathContext.DECIMAL32);
+        return variance.sqrt(MathContext.DECIMAL32);
+    }
+
+    BigDecimal min() {
+        return values[minSlots.peekFirst()];
+    }
+
+    BigDecimal max() {
+        return values[maxSlots.peekFirst()];
+    }
+
+    @Nullable
+    BigDecimal median() {
+        int middle = size / 2;
+        return Statistics.median(size % 2 == 1 ? List.of(sorted.get(middle))
+                : List.of(sorted.get(middle - 1), sorted.get(middle)));
+    }
+
+    /**
+     * A double ended queue of ring buffer slots. It never holds more slots than the window.
+     */
+    private static class SlotDeque {
+        private final int[] slots;
+        private int first = 0;
+        private int count = 0;
+
+        SlotDeque(int capacity) {
+            slots = new int[capacity];
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        int peekFirst() {
+            return count == 0 ? -1 : slots[first];
+        }
+
+        int peekLast() {
+            return slots[(first + count - 1) % slots.length];
+        }
+
+        void pollFirst() {
+            first = (first + 1) % slots.length;
+            count--;
+        }
+
+        void pollLast() {
+            count--;
+        }
+
+        void addLast(int slot) {
+            slots[(first + count) % slots.length] = slot;
+            count++;
+        }
+    }
+}
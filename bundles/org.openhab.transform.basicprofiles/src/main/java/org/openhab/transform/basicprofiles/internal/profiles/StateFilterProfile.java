@@ -17,12 +17,12 @@ import static org.openhab.transform.basicprofiles.internal.factory.BasicProfiles
 
 import java.math.BigDecimal;
 import java.math.MathContext;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -49,7 +49,6 @@ import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
 import org.openhab.core.types.UnDefType;
-import org.openhab.core.util.Statistics;
 import org.openhab.transform.basicprofiles.internal.config.StateFilterProfileConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -109,9 +108,10 @@ public class StateFilterProfile implements StateProfile {
     // single cached numeric state for use in conjunction with DELTA and DELTA_PERCENT functions
     private Optional<State> acceptedState = Optional.empty();
 
-    // cached list of prior numeric states for use in conjunction with AVG, MEDIAN, STDDEV, MIN, MAX functions
-    private final List<State> previousStates = new LinkedList<>();
+    // prior numeric states for use in conjunction with AVG, MEDIAN, STDDEV, MIN, MAX functions, by window size
+    private final Map<Integer, SlidingWindow> windows = new HashMap<>();
 
+    // largest window size, which applies to functions without a window size
     private final int windowSize;
 
     // reference (zero based) system unit for conversions
@@ -148,9 +148,24 @@ public class StateFilterProfile implements StateProfile {
         }
 
         windowSize = maxWindowSize;
+        for (StateCondition condition : conditions) {
+            if (condition.lhsState instanceof FunctionType function) {
+                addWindow(function);
+            }
+            if (condition.rhsState instanceof FunctionType function) {
+                addWindow(function);
+            }
+        }
         configMismatchState = parseState(config.mismatchState, context.getAcceptedDataTypes());
     }
 
+    private void addWindow(FunctionType function) {
+        int size = function.getAggregationWindowSize();
+        if (size > 0) {
+            windows.computeIfAbsent(size, SlidingWindow::new);
+        }
+    }
+
     private List<StateCondition> parseConditions(List<String> conditions, String separator) {
         List<StateCondition> parsedConditions = new ArrayList<>();
 
@@ -220,10 +235,9 @@ public class StateFilterProfile implements StateProfile {
         } else {
             logger.debug("Received state update from handler: {}, not forwarded to item", state);
         }
-        if (windowSize > 0 && isCacheable(state)) {
-            previousStates.add(state);
-            if (previousStates.size() > windowSize) {
-                previousStates.removeFirst();
+        if (!windows.isEmpty() && isCacheable(state) && toBigDecimal(state) instanceof BigDecimal value) {
+            for (SlidingWindow window : windows.values()) {
+                window.add(value);
             }
         }
     }
@@ -571,20 +585,17 @@ public class StateFilterProfile implements StateProfile {
                 case DELTA -> result = calculateDelta();
                 case DELTA_PERCENT -> result = calculateDeltaPercent();
                 default -> {
-                    int size = previousStates.size();
-                    Integer start = windowSize.map(w -> size - w).orElse(0);
-                    List<BigDecimal> values = toBigDecimals(
-                            start == null || start <= 0 ? previousStates : previousStates.subList(start, size));
-                    if (values.isEmpty()) {
+                    SlidingWindow window = windows.get(getAggregationWindowSize());
+                    if (window == null || window.isEmpty()) {
                         logger.debug("Not enough states to calculate {}", type);
                         result = null;
                     } else {
                         switch (type) {
-                            case AVG, AVERAGE -> result = calculateAverage(values);
-                            case MEDIAN -> result = calculateMedian(values);
-                            case STDDEV -> result = calculateStdDev(values);
-                            case MIN -> result = calculateMin(values);
-                            case MAX -> result = calculateMax(values);
+                            case AVG, AVERAGE -> result = toState(window.average());
+                            case MEDIAN -> result = calculateMedian(window);
+                            case STDDEV -> result = toState(window.standardDeviation());
+                            case MIN -> result = toState(window.min());
+                            case MAX -> result = toState(window.max());
                             default -> result = null;
                         }
                     }
@@ -632,6 +643,19 @@ public class StateFilterProfile implements StateProfile {
             return windowSize.isPresent() ? windowSize.get() : DEFAULT_WINDOW_SIZE;
         }
 
+        /**
+         * Returns the number of previous states the function is calculated from. Functions without a window size use
+         * all cached states, i.e. the largest window size of all functions.
+         *
+         * @return the number of states, or 0 for functions which are not calculated from previous states
+         */
+        int getAggregationWindowSize() {
+            if (getWindowSize() == 0) {
+                return 0;
+            }
+            return windowSize.orElse(StateFilterProfile.this.windowSize);
+        }
+
         public Function getType() {
             return type;
         }
@@ -651,38 +675,8 @@ public class StateFilterProfile implements StateProfile {
             return toFullString();
         }
 
-        private @Nullable State calculateAverage(List<BigDecimal> values) {
-            return Optional
-                    .ofNullable(values.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
-                            .divide(BigDecimal.valueOf(values.size()), MathContext.DECIMAL32))
-                    .map(o -> toState(o)).orElse(null);
-        }
-
-        private @Nullable State calculateMedian(List<BigDecimal> values) {
-            return Optional.ofNullable(Statistics.median(values)).map(o -> toState(o)).orElse(null);
-        }
-
-        private @Nullable State calculateStdDev(List<BigDecimal> values) {
-            BigDecimal average = values.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .divide(BigDecimal.valueOf(values.size()), 2, RoundingMode.HALF_EVEN);
-
-            BigDecimal variance = values.stream().map(value -> {
-                BigDecimal delta = value.subtract(average);
-                return delta.multiply(delta);
-            }).reduce(BigDecimal.ZERO, BigDecimal::add).divide(BigDecimal.valueOf(values.size()),
-                    MathContext.DECIMAL32);
-
-            return toState(variance.sqrt(MathContext.DECIMAL32));
-        }
-
-        private @Nullable State calculateMin(List<BigDecimal> values) {
-            return Optional.ofNullable(values.stream().min(BigDecimal::compareTo).orElse(null)).map(o -> toState(o))
-                    .orElse(null);
-        }
-
-        private @Nullable State calculateMax(List<BigDecimal> values) {
-            return Optional.ofNullable(values.stream().max(BigDecimal::compareTo).orElse(null)).map(o -> toState(o))
-                    .orElse(null);
+        private @Nullable State calculateMedian(SlidingWindow window) {
+            return Optional.ofNullable(window.median()).map(o -> toState(o)).orElse(null);
         }
 
         private @Nullable State calculateDelta() {
@@ -744,16 +738,6 @@ public class StateFilterProfile implements StateProfile {
                 : null;
     }
 
-    /**
-     * Convert a list of {@link State} to a list of {@link BigDecimal} values.
-     *
-     * @param states list of {@link State} values.
-     * @return list of {@link BigDecimal} values.
-     */
-    protected List<BigDecimal> toBigDecimals(List<? extends State> states) {
-        return states.stream().map(s -> toBigDecimal(s)).filter(Objects::nonNull).toList();
-    }
-
     /**
      * Create a new {@link State} from the given {@link BigDecimal} value. If there is a 'systemUnit' it creates a
      * {@link QuantityType} based on that unit. Otherwise it creates a {@link DecimalType}.
@@ -793,7 +777,7 @@ public class StateFilterProfile implements StateProfile {
 
     /**
      * Check if the given {@link State} is suitable to be cached. This means it is suitable to add to the
-     * 'previousStates' list and/or to set to the 'acceptedState' field. This means that either there is a
+     * sliding windows and/or to set to the 'acceptedState' field. This means that either there is a
      * 'systemUnit' with which 'state' is compatible, or it can provide a {@link DecimalType} value.
      *
      * @param state the {@link State} to be tested.
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.util.Statistics;
+
+/**
+ * Basic unit tests for {@link SlidingWindow}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class SlidingWindowTest {
+
+    private static SlidingWindow windowOf(int capacity, String... values) {
+        SlidingWindow window = new SlidingWindow(capacity);
+        for (String value : values) {
+            window.add(new BigDecimal(value));
+        }
+        return window;
+    }
+
+    private static void assertEqualValue(@Nullable BigDecimal actual, @Nullable BigDecimal expected) {
+        assertThat(actual + " == " + expected, actual != null && expected != null && actual.compareTo(expected) == 0,
+                is(true));
+    }
+
+    @Test
+    public void testAggregatesOfPartialWindow() {
+        SlidingWindow window = windowOf(5, "1", "2", "3");
+
+        assertThat(window.size(), is(3));
+        assertEqualValue(window.average(), new BigDecimal("2"));
+        assertEqualValue(window.min(), new BigDecimal("1"));
+        assertEqualValue(window.max(), new BigDecimal("3"));
+        assertEqualValue(window.median(), new BigDecimal("2"));
+        assertEqualValue(window.standardDeviation(), new BigDecimal("0.8164966"));
+    }
+
+    @Test
+    public void testOldestValuesAreDiscarded() {
+        SlidingWindow window = windowOf(3, "10", "-5", "1", "2", "3");
+
+        assertThat(window.size(), is(3));
+        assertEqualValue(window.average(), new BigDecimal("2"));
+        assertEqualValue(window.min(), new BigDecimal("1"));
+        assertEqualValue(window.max(), new BigDecimal("3"));
+        assertEqualValue(window.median(), new BigDecimal("2"));
+    }
+
+    @Test
+    public void testMedianOfEvenWindow() {
+        SlidingWindow window = windowOf(4, "7", "1", "4", "2");
+
+        assertEqualValue(window.median(), new BigDecimal("3"));
+    }
+
+    @Test
+    public void testEmptyWindow() {
+        assertThat(new SlidingWindow(3).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testAggregatesMatchRecalculation() {
+        Random random = new Random(42);
+        int capacity = 17;
+        SlidingWindow window = new SlidingWindow(capacity);
+        List<BigDecimal> values = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            // repeat values now and then to cover equal extremes
+            BigDecimal value = i > 0 && random.nextInt(5) == 0 ? values.get(values.size() - 1)
+                    : BigDecimal.valueOf(random.nextInt(20000) - 10000, random.nextInt(4));
+            window.add(value);
+            values.add(value);
+            if (values.size() > capacity) {
+                values.remove(0);
+            }
+
+            BigDecimal count = BigDecimal.valueOf(values.size());
+            BigDecimal sum = values.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal average = sum.divide(count, 2, RoundingMode.HALF_EVEN);
+            BigDecimal variance = values.stream().map(v -> v.subtract(average).multiply(v.subtract(average)))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add).divide(count, MathContext.DECIMAL32);
+
+            assertEqualValue(window.average(), sum.divide(count, MathContext.DECIMAL32));
+            assertEqualValue(window.standardDeviation(), variance.sqrt(MathContext.DECIMAL32));
+            assertEqualValue(window.min(), values.stream().min(BigDecimal::compareTo).orElseThrow());
+            assertEqualValue(window.max(), values.stream().max(BigDecimal::compareTo).orElseThrow());
+            assertEqualValue(window.median(), Statistics.median(values));
+        }
+    }
+}
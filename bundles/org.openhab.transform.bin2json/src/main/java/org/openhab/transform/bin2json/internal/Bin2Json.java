@@ -14,16 +14,19 @@ package org.openhab.transform.bin2json.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringWriter;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 import org.openhab.core.util.HexUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
 import com.igormaznitsa.jbbp.JBBPParser;
 import com.igormaznitsa.jbbp.exceptions.JBBPException;
 import com.igormaznitsa.jbbp.model.JBBPAbstractArrayField;
@@ -58,12 +61,16 @@ import com.igormaznitsa.jbbp.model.JBBPFieldUShort;
  * "https://github.com/raydac/java-binary-block-parser">https://github.com/raydac/java-binary-block-parser</a>
  *
  * <p>
+ * The parser rule is compiled once by the constructor. The compiled parser is thread safe, so an instance can be
+ * reused for any number of conversions. The parsed fields are written directly to a streaming JSON writer.
+ *
+ * <p>
  * Usage example:
  *
  * <pre>
  * {@code
- * JsonObject json = new Bin2Json("byte a; byte b; ubyte c;").convert("03FAFF");
- * json.toString() = {"a":3,"b":-6,"c":255}}
+ * String json = new Bin2Json("byte a; byte b; ubyte c;").convert("03FAFF");
+ * json = {"a":3,"b":-6,"c":255}}
  * </pre>
  *
  * @author Pauli Anttila - Initial contribution
@@ -71,6 +78,11 @@ import com.igormaznitsa.jbbp.model.JBBPFieldUShort;
  */
 public class Bin2Json {
 
+    private static final String NO_NAME = "nonamed";
+
+    /** Structures with up to this many fields are checked for repeated names without allocating a set */
+    private static final int MAX_FIELDS_PAIRWISE_CHECK = 16;
+
     private final Logger logger = LoggerFactory.getLogger(Bin2Json.class);
 
     private JBBPParser parser;
@@ -89,13 +101,13 @@ public class Bin2Json {
     }
 
     /**
-     * Convert {@link String} in hexadecimal string format to JSON object.
+     * Convert {@link String} in hexadecimal string format to JSON.
      *
      * @param hexString Data in hexadecimal string format. Example data: 03FAFF
-     * @return Gson {@link JsonObject}
+     * @return JSON object as {@link String}
      * @throws ConversionException
      */
-    public JsonObject convert(String hexString) throws ConversionException {
+    public String convert(String hexString) throws ConversionException {
         try {
             return convert(HexUtils.hexToBytes(hexString));
         } catch (IllegalArgumentException e) {
@@ -104,13 +116,13 @@ public class Bin2Json {
     }
 
     /**
-     * Convert byte array to JSON object.
+     * Convert byte array to JSON.
      *
      * @param data Data in byte array format.
-     * @return Gson {@link JsonObject}
+     * @return JSON object as {@link String}
      * @throws ConversionException
      */
-    public JsonObject convert(byte[] data) throws ConversionException {
+    public String convert(byte[] data) throws ConversionException {
         try {
             return convert(parser.parse(data));
         } catch (IOException e) {
@@ -121,13 +133,13 @@ public class Bin2Json {
     }
 
     /**
-     * Convert data from {@link InputStream} to JSON object.
+     * Convert data from {@link InputStream} to JSON.
      *
      * @param inputStream
-     * @return Gson {@link JsonObject}
+     * @return JSON object as {@link String}
      * @throws ConversionException
      */
-    public JsonObject convert(InputStream inputStream) throws ConversionException {
+    public String convert(InputStream inputStream) throws ConversionException {
         try {
             return convert(parser.parse(inputStream));
         } catch (IOException e) {
@@ -137,101 +149,145 @@ public class Bin2Json {
         }
     }
 
-    private JsonObject convert(JBBPFieldStruct data) throws ConversionException {
-        try {
-            LocalDateTime start = LocalDateTime.now();
-            final JsonObject json = convertToJSon(data);
-            if (logger.isTraceEnabled()) {
-                Duration duration = Duration.between(start, LocalDateTime.now());
-                logger.trace("Conversion time={}, json={}", duration, json.toString());
-            }
-            return json;
-        } catch (JBBPException e) {
+    private String convert(JBBPFieldStruct data) throws ConversionException {
+        LocalDateTime start = logger.isTraceEnabled() ? LocalDateTime.now() : null;
+        StringWriter output = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(output)) {
+            writeStruct(writer, data);
+        } catch (IOException | JBBPException e) {
             throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
         }
+        final String json = output.toString();
+        if (start != null) {
+            Duration duration = Duration.between(start, LocalDateTime.now());
+            logger.trace("Conversion time={}, json={}", duration, json);
+        }
+        return json;
+    }
+
+    private static String getName(JBBPAbstractField field) {
+        final String fieldName = field.getFieldName();
+        return fieldName == null ? NO_NAME : fieldName;
     }
 
-    private JsonObject convertToJSon(final JBBPAbstractField field) throws ConversionException {
-        return convertToJSon(null, field);
+    /**
+     * Writes the fields of a structure as JSON object.
+     */
+    private void writeStruct(JsonWriter writer, JBBPFieldStruct struct) throws IOException, ConversionException {
+        writer.beginObject();
+        final JBBPAbstractField[] fields = struct.getArray();
+        if (hasRepeatedNames(fields)) {
+            // a JSON object holds a name once, at the position of its first field, with the value of its last field
+            final Map<String, JBBPAbstractField> lastFields = new LinkedHashMap<>();
+            for (final JBBPAbstractField field : fields) {
+                lastFields.put(getName(field), field);
+            }
+            for (final JBBPAbstractField field : lastFields.values()) {
+                writeField(writer, field);
+            }
+        } else {
+            for (final JBBPAbstractField field : fields) {
+                writeField(writer, field);
+            }
+        }
+        writer.endObject();
     }
 
-    private JsonObject convertToJSon(final JsonObject json, final JBBPAbstractField field) throws ConversionException {
-        JsonObject jsn = json == null ? new JsonObject() : json;
+    private static boolean hasRepeatedNames(JBBPAbstractField[] fields) {
+        if (fields.length > MAX_FIELDS_PAIRWISE_CHECK) {
+            final Set<String> names = new HashSet<>();
+            for (final JBBPAbstractField field : fields) {
+                if (!names.add(getName(field))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (int i = 0; i < fields.length; i++) {
+            final String name = getName(fields[i]);
+            for (int j = i + 1; j < fields.length; j++) {
+                if (name.equals(getName(fields[j]))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 
-        final String fieldName = field.getFieldName() == null ? "nonamed" : field.getFieldName();
+    /**
+     * Writes a field as member of the current JSON object.
+     */
+    private void writeField(JsonWriter writer, JBBPAbstractField field) throws IOException, ConversionException {
+        writer.name(getName(field));
         if (field instanceof JBBPAbstractArrayField) {
-            final JsonArray jsonArray = new JsonArray();
+            writer.beginArray();
             if (field instanceof JBBPFieldArrayBit bit) {
                 for (final byte b : bit.getArray()) {
-                    jsonArray.add(new JsonPrimitive(b));
+                    writer.value(b);
                 }
             } else if (field instanceof JBBPFieldArrayBoolean boolean1) {
                 for (final boolean b : boolean1.getArray()) {
-                    jsonArray.add(new JsonPrimitive(b));
+                    writer.value(b);
                 }
             } else if (field instanceof JBBPFieldArrayByte byte1) {
                 for (final byte b : byte1.getArray()) {
-                    jsonArray.add(new JsonPrimitive(b));
+                    writer.value(b);
                 }
             } else if (field instanceof JBBPFieldArrayInt int1) {
                 for (final int b : int1.getArray()) {
-                    jsonArray.add(new JsonPrimitive(b));
+                    writer.value(b);
                 }
             } else if (field instanceof JBBPFieldArrayLong long1) {
                 for (final long b : long1.getArray()) {
-                    jsonArray.add(new JsonPrimitive(b));
+                    writer.value(b);
                 }
             } else if (field instanceof JBBPFieldArrayShort short1) {
                 for (final short b : short1.getArray()) {
-                    jsonArray.add(new JsonPrimitive(b));
+                    writer.value(b);
                 }
             } else if (field instanceof JBBPFieldArrayStruct array) {
                 for (int i = 0; i < array.size(); i++) {
-                    jsonArray.add(convertToJSon(new JsonObject(), array.getElementAt(i)));
+                    // every element is an object holding the element structure by its name
+                    final JBBPFieldStruct element = array.getElementAt(i);
+                    writer.beginObject();
+                    writer.name(getName(element));
+                    writeStruct(writer, element);
+                    writer.endObject();
                 }
             } else if (field instanceof JBBPFieldArrayUByte byte1) {
                 for (final byte b : byte1.getArray()) {
-                    jsonArray.add(new JsonPrimitive(b & 0xFF));
+                    writer.value(b & 0xFF);
                 }
             } else if (field instanceof JBBPFieldArrayUShort short1) {
                 for (final short b : short1.getArray()) {
-                    jsonArray.add(new JsonPrimitive(b & 0xFFFF));
+                    writer.value(b & 0xFFFF);
                 }
             } else {
                 throw new ConversionException(String.format("Unexpected field type '%s'", field));
             }
-            jsn.add(fieldName, jsonArray);
+            writer.endArray();
         } else {
             if (field instanceof JBBPFieldBit bit) {
-                jsn.addProperty(fieldName, bit.getAsInt());
+                writer.value(bit.getAsInt());
             } else if (field instanceof JBBPFieldBoolean boolean1) {
-                jsn.addProperty(fieldName, boolean1.getAsBool());
+                writer.value(boolean1.getAsBool());
             } else if (field instanceof JBBPFieldByte byte1) {
-                jsn.addProperty(fieldName, byte1.getAsInt());
+                writer.value(byte1.getAsInt());
             } else if (field instanceof JBBPFieldInt int1) {
-                jsn.addProperty(fieldName, int1.getAsInt());
+                writer.value(int1.getAsInt());
             } else if (field instanceof JBBPFieldLong long1) {
-                jsn.addProperty(fieldName, long1.getAsLong());
+                writer.value(long1.getAsLong());
             } else if (field instanceof JBBPFieldShort short1) {
-                jsn.addProperty(fieldName, short1.getAsInt());
+                writer.value(short1.getAsInt());
             } else if (field instanceof JBBPFieldStruct struct) {
-                final JsonObject obj = new JsonObject();
-                for (final JBBPAbstractField f : struct.getArray()) {
-                    convertToJSon(obj, f);
-                }
-                if (json == null) {
-                    return obj;
-                } else {
-                    jsn.add(fieldName, obj);
-                }
+                writeStruct(writer, struct);
             } else if (field instanceof JBBPFieldUByte byte1) {
-                jsn.addProperty(fieldName, byte1.getAsInt());
+                writer.value(byte1.getAsInt());
             } else if (field instanceof JBBPFieldUShort short1) {
-                jsn.addProperty(fieldName, short1.getAsInt());
+                writer.value(short1.getAsInt());
             } else {
                 throw new ConversionException(String.format("Unexpected field '%s'", field));
             }
         }
-        return jsn;
     }
 }
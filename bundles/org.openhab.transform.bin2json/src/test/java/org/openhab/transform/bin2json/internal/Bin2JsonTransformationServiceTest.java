@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.transform.TransformationException;
+import org.openhab.core.util.HexUtils;
+
+/**
+ * Tests the {@link Bin2JsonTransformationService} and the JSON written by {@link Bin2Json}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class Bin2JsonTransformationServiceTest {
+
+    private static final String SIMPLE_RULE = "byte a; byte b; ubyte c;";
+    private static final String NESTED_RULE = "ubyte len; header { ushort id; bool flag; } byte [len] data; "
+            + "item [2] { ubyte v; }";
+    private static final String NESTED_DATA = "02010201FF058007";
+    private static final String NESTED_JSON = "{\"len\":2,\"header\":{\"id\":258,\"flag\":true},\"data\":[-1,5],"
+            + "\"item\":[{\"item\":{\"v\":128}},{\"item\":{\"v\":7}}]}";
+
+    private @NonNullByDefault({}) Bin2JsonTransformationService processor;
+
+    @BeforeEach
+    public void init() {
+        processor = new Bin2JsonTransformationService();
+    }
+
+    @Test
+    public void testTransformSimpleRule() throws TransformationException {
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", processor.transform(SIMPLE_RULE, "03FAFF"));
+    }
+
+    @Test
+    public void testTransformNestedRule() throws TransformationException {
+        assertEquals(NESTED_JSON, processor.transform(NESTED_RULE, NESTED_DATA));
+    }
+
+    @Test
+    public void testRepeatedNameKeepsFirstPositionAndLastValue() throws TransformationException {
+        assertEquals("{\"a\":3,\"b\":2}", processor.transform("byte a; byte b; byte a;", "010203"));
+    }
+
+    @Test
+    public void testCachedParserConvertsFollowingInputs() throws TransformationException {
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", processor.transform(SIMPLE_RULE, "03FAFF"));
+        assertEquals("{\"a\":1,\"b\":2,\"c\":3}", processor.transform(SIMPLE_RULE, "010203"));
+        assertEquals(NESTED_JSON, processor.transform(NESTED_RULE, NESTED_DATA));
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", processor.transform(SIMPLE_RULE, "03FAFF"));
+    }
+
+    @Test
+    public void testInvalidRuleIsReportedOnEveryUse() {
+        assertThrows(TransformationException.class, () -> processor.transform("bytes a;", "03"));
+        assertThrows(TransformationException.class, () -> processor.transform("bytes a;", "03"));
+    }
+
+    @Test
+    public void testTooShortInputDoesNotAffectCachedParser() throws TransformationException {
+        assertThrows(TransformationException.class, () -> processor.transform(SIMPLE_RULE, "03"));
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", processor.transform(SIMPLE_RULE, "03FAFF"));
+    }
+
+    @Test
+    public void testConvertInputStream() throws ConversionException {
+        Bin2Json bin2Json = new Bin2Json(NESTED_RULE);
+
+        assertEquals(NESTED_JSON, bin2Json.convert(new ByteArrayInputStream(HexUtils.hexToBytes(NESTED_DATA))));
+    }
+}
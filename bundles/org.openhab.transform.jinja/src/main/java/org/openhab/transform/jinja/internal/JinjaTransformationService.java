@@ -13,12 +13,12 @@
 package org.openhab.transform.jinja.internal;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -31,7 +31,13 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
 import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.InterpretException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * <p>
@@ -44,10 +50,27 @@ import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
 @Component(property = { "openhab.transform=JINJA" })
 public class JinjaTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_TEMPLATES = 256;
+    private static final String VALUE_JSON = "value_json";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
     private final Jinjava jinjava = new Jinjava();
 
+    /** Parsed templates, only contains templates which could be parsed without errors */
+    private final Map<String, Node> templateCache = Collections
+            .synchronizedMap(new LinkedHashMap<String, Node>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                // the type of the parsed templates is shadowed by HashMap.Node in here
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.@Nullable Entry<String, com.hubspot.jinjava.tree.Node> eldest) {
+                    return size() > MAX_CACHED_TEMPLATES;
+                }
+            });
+
     /**
      * Transforms the input <code>value</code> by Jinja template.
      *
@@ -64,16 +87,21 @@ public class JinjaTransformationService implements TransformationService {
 
         bindings.put("value", value);
 
-        try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
-        } catch (IOException e) {
-            // ok, then value_json is null...
+        // a template which does not mention value_json cannot access it, so the value does not need to be parsed
+        if (template.contains(VALUE_JSON)) {
+            try {
+                JsonNode tree = OBJECT_MAPPER.readTree(value);
+                bindings.put(VALUE_JSON, LazyJson.toObject(tree));
+            } catch (IOException e) {
+                // ok, then value_json is null...
+            }
         }
 
         try {
-            transformationResult = jinjava.render(template, bindings);
-        } catch (FatalTemplateErrorsException e) {
+            // FatalTemplateErrorsException, which reports template errors, is an InterpretException as well
+            Node root = getParsedTemplate(template);
+            transformationResult = root != null ? render(template, root, bindings) : jinjava.render(template, bindings);
+        } catch (InterpretException e) {
             throw new TransformationException("An error occurred while transformation. " + e.getMessage(), e);
         }
 
@@ -82,33 +110,44 @@ public class JinjaTransformationService implements TransformationService {
         return transformationResult;
     }
 
-    private static @Nullable Object toObject(JsonNode node) {
-        switch (node.getNodeType()) {
-            case ARRAY: {
-                List<@Nullable Object> result = new ArrayList<>();
-                for (JsonNode el : node) {
-                    result.add(toObject(el));
-                }
-                return result;
+    /**
+     * Returns the parsed template from the cache or parses it.
+     *
+     * @param template the template
+     * @return the root node, or <code>null</code> if parsing reported errors. Such templates are rendered by
+     *         {@link Jinjava#render(String, Map)}, which reports the errors.
+     */
+    private @Nullable Node getParsedTemplate(String template) {
+        Node root = templateCache.get(template);
+        if (root == null) {
+            JinjavaInterpreter parser = jinjava.newInterpreter();
+            root = parser.parse(template);
+            if (!parser.getErrors().isEmpty()) {
+                return null;
             }
-            case NUMBER:
-                return node.decimalValue();
-            case OBJECT: {
-                Map<String, @Nullable Object> result = new HashMap<>();
-                Iterator<Entry<String, JsonNode>> it = node.fields();
-                while (it.hasNext()) {
-                    Entry<String, JsonNode> field = it.next();
-                    result.put(field.getKey(), toObject(field.getValue()));
-                }
-                return result;
+            templateCache.put(template, root);
+        }
+        return root;
+    }
+
+    /**
+     * Renders a parsed template the same way {@link Jinjava#render(String, Map)} renders a template string.
+     */
+    private String render(String template, Node root, Map<String, @Nullable Object> bindings) {
+        Context context = new Context(jinjava.getGlobalContext(), bindings);
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava, context, jinjava.getGlobalConfig());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            String result = interpreter.render(root, true);
+            List<TemplateError> fatalErrors = interpreter.getErrors().stream()
+                    .filter(error -> error.getSeverity() == ErrorType.FATAL).collect(Collectors.toList());
+            if (!fatalErrors.isEmpty()) {
+                throw new FatalTemplateErrorsException(template, fatalErrors);
             }
-            case STRING:
-                return node.asText();
-            case BOOLEAN:
-                return node.asBoolean();
-            case NULL:
-            default:
-                return null;
+            return result;
+        } finally {
+            jinjava.getGlobalContext().reset();
+            JinjavaInterpreter.popCurrent();
         }
     }
 }
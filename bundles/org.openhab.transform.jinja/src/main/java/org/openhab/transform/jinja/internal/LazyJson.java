@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jinja.internal;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Exposes a JSON tree to templates as plain {@link Map}s, {@link List}s and scalars.
+ *
+ * Objects and arrays are only converted when a template accesses them, so templates reading a single value of a
+ * large payload do not pay for copying the whole tree. The containers behave like the {@link HashMap} and
+ * {@link ArrayList} they replace, including modifications, which convert the affected level completely first.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+final class LazyJson {
+
+    private LazyJson() {
+        // static utility
+    }
+
+    /**
+     * Converts a JSON node to its template representation.
+     *
+     * @param node the JSON node
+     * @return a {@link Map} for objects, a {@link List} for arrays, a {@link java.math.BigDecimal} for numbers, a
+     *         {@link String}, a {@link Boolean} or <code>null</code>
+     */
+    static @Nullable Object toObject(JsonNode node) {
+        switch (node.getNodeType()) {
+            case ARRAY:
+                return new LazyList(node);
+            case NUMBER:
+                return node.decimalValue();
+            case OBJECT:
+                return new LazyMap(node);
+            case STRING:
+                return node.asText();
+            case BOOLEAN:
+                return node.asBoolean();
+            case NULL:
+            default:
+                return null;
+        }
+    }
+
+    private static class LazyMap extends AbstractMap<String, @Nullable Object> {
+        /** The JSON object, until all fields have been converted */
+        private @Nullable JsonNode node;
+        private final Map<String, @Nullable Object> values = new HashMap<>();
+
+        LazyMap(JsonNode node) {
+            this.node = node;
+        }
+
+        private Map<String, @Nullable Object> materialize() {
+            JsonNode node = this.node;
+            if (node != null) {
+                Iterator<Entry<String, JsonNode>> it = node.fields();
+                while (it.hasNext()) {
+                    Entry<String, JsonNode> field = it.next();
+                    if (!values.containsKey(field.getKey())) {
+                        values.put(field.getKey(), toObject(field.getValue()));
+                    }
+                }
+                this.node = null;
+            }
+            return values;
+        }
+
+        @Override
+        public @Nullable Object get(@Nullable Object key) {
+            JsonNode node = this.node;
+            if (node != null && key instanceof String name && !values.containsKey(name)) {
+                JsonNode field = node.get(name);
+                if (field == null) {
+                    return null;
+                }
+                Object value = toObject(field);
+                values.put(name, value);
+                return value;
+            }
+            return values.get(key);
+        }
+
+        @Override
+        public boolean containsKey(@Nullable Object key) {
+            JsonNode node = this.node;
+            if (node != null) {
+                return key instanceof String name && node.has(name);
+            }
+            return values.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            JsonNode node = this.node;
+            return node != null ? node.size() : values.size();
+        }
+
+        @Override
+        public @Nullable Object put(String key, @Nullable Object value) {
+            return materialize().put(key, value);
+        }
+
+        @Override
+        public @Nullable Object remove(@Nullable Object key) {
+            return materialize().remove(key);
+        }
+
+        @Override
+        public Set<Entry<String, @Nullable Object>> entrySet() {
+            return materialize().entrySet();
+        }
+    }
+
+    private static class LazyList extends AbstractList<@Nullable Object> {
+        /** The JSON array, until its elements have been converted */
+        private @Nullable JsonNode node;
+        private final List<@Nullable Object> values = new ArrayList<>();
+
+        LazyList(JsonNode node) {
+            this.node = node;
+        }
+
+        private List<@Nullable Object> materialize() {
+            JsonNode node = this.node;
+            if (node != null) {
+                for (JsonNode element : node) {
+                    values.add(toObject(element));
+                }
+                this.node = null;
+            }
+            return values;
+        }
+
+        @Override
+        public @Nullable Object get(int index) {
+            return materialize().get(index);
+        }
+
+        @Override
+        public int size() {
+            JsonNode node = this.node;
+            return node != null ? node.size() : values.size();
+        }
+
+        @Override
+        public @Nullable Object set(int index, @Nullable Object element) {
+            return materialize().set(index, element);
+        }
+
+        @Override
+        public void add(int index, @Nullable Object element) {
+            materialize().add(index, element);
+            modCount++;
+        }
+
+        @Override
+        public @Nullable Object remove(int index) {
+            modCount++;
+            return materialize().remove(index);
+        }
+    }
+}
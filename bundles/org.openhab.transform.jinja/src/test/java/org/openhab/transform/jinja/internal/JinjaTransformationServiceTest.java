@@ -113,4 +113,50 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    @Test
+    public void testCachedTemplateIsRenderedWithNewBindings() throws TransformationException {
+        String template = "{{ value_json.a }}-{{ value }}";
+
+        assertEquals("1-{\"a\": 1}", processor.transform(template, "{\"a\": 1}"));
+        assertEquals("2-{\"a\": 2}", processor.transform(template, "{\"a\": 2}"));
+        assertEquals("-x", processor.transform(template, "x"));
+    }
+
+    @Test
+    public void testCachedTemplateReportsErrorsEveryTime() {
+        String template = "Hello {{{ value_json.string }}!";
+
+        assertThrows(TransformationException.class, () -> processor.transform(template, "{\"string\": \"world\"}"));
+        assertThrows(TransformationException.class, () -> processor.transform(template, "{\"string\": \"world\"}"));
+    }
+
+    @Test
+    public void testNestedArrays() throws TransformationException {
+        String json = "{\"list\": [{\"v\": 1}, {\"v\": 2}, {\"v\": 3.5}], \"empty\": []}";
+
+        assertEquals("3.5", processor.transform("{{ value_json.list[2].v }}", json));
+        assertEquals("3", processor.transform("{{ value_json.list | length }}", json));
+        assertEquals("1,2,3.5,", processor.transform("{% for e in value_json.list %}{{ e.v }},{% endfor %}", json));
+        assertEquals("0", processor.transform("{{ value_json.empty | length }}", json));
+    }
+
+    @Test
+    public void testObjectAccess() throws TransformationException {
+        String json = "{\"a\": true, \"b\": null, \"c\": {\"d\": \"e\"}}";
+
+        assertEquals("3", processor.transform("{{ value_json | length }}", json));
+        assertEquals("true,,e",
+                processor.transform("{{ value_json.a }},{{ value_json.b }},{{ value_json.c.d }}", json));
+        assertEquals("a,b,c", processor.transform("{{ value_json.keys() | sort | join(',') }}", json));
+    }
+
+    @Test
+    public void testModifiedValueJson() throws TransformationException {
+        String json = "{\"a\": 1, \"list\": [1]}";
+
+        assertEquals("2",
+                processor.transform("{% do value_json.list.append(2) %}{{ value_json.list | length }}", json));
+        assertEquals("3", processor.transform("{% do value_json.update({'c': 3}) %}{{ value_json | length }}", json));
+    }
 }
@@ -12,7 +12,10 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +27,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -32,6 +36,9 @@ import com.jayway.jsonpath.PathNotFoundException;
 /**
  * The implementation of a {@link TransformationService} which transforms the input by JSonPath Expressions.
  *
+ * Bindings usually apply several expressions to the same response, one per channel. The most recently parsed documents
+ * and the compiled expressions are therefore cached, so each response is only parsed once.
+ *
  * @author Gaël L'hopital - Initial contribution
  * @author Sebastian Janzen - Initial contribution
  */
@@ -39,8 +46,32 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_DOCUMENTS = 8;
+    private static final int MAX_CACHED_DOCUMENT_LENGTH = 1024 * 1024;
+    private static final int MAX_CACHED_PATHS = 512;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    // parsed documents are only read, so they can be shared between threads
+    private final Map<String, DocumentContext> documentCache = Collections
+            .synchronizedMap(new LinkedHashMap<String, DocumentContext>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, DocumentContext> eldest) {
+                    return size() > MAX_CACHED_DOCUMENTS;
+                }
+            });
+    private final Map<String, JsonPath> pathCache = Collections
+            .synchronizedMap(new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, JsonPath> eldest) {
+                    return size() > MAX_CACHED_PATHS;
+                }
+            });
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -62,7 +93,7 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = getDocument(source).read(getPath(jsonPathExpression));
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -78,6 +109,28 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private DocumentContext getDocument(String source) {
+        if (source.length() > MAX_CACHED_DOCUMENT_LENGTH) {
+            return JsonPath.parse(source);
+        }
+        DocumentContext document = documentCache.get(source);
+        if (document == null) {
+            // parse outside of the lock, concurrent parsing of the same source is harmless
+            document = JsonPath.parse(source);
+            documentCache.put(source, document);
+        }
+        return document;
+    }
+
+    private JsonPath getPath(String jsonPathExpression) {
+        JsonPath path = pathCache.get(jsonPathExpression);
+        if (path == null) {
+            path = JsonPath.compile(jsonPathExpression);
+            pathCache.put(jsonPathExpression, path);
+        }
+        return path;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
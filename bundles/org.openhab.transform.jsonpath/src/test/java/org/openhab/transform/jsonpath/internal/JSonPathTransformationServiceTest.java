@@ -129,4 +129,28 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testSeveralPathsOnSameDocument() throws TransformationException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+            assertEquals("2", processor.transform("$[1].id", JSON_ARRAY));
+            assertEquals("[1, 2]", processor.transform("$[*].id", JSON_ARRAY));
+        }
+    }
+
+    @Test
+    public void testChangedDocumentIsParsedAgain() throws TransformationException {
+        assertEquals("1", processor.transform("$.value", "{\"value\": 1}"));
+        assertEquals("2", processor.transform("$.value", "{\"value\": 2}"));
+        assertEquals("1", processor.transform("$.value", "{\"value\": 1}"));
+    }
+
+    @Test
+    public void testFailedTransformationDoesNotAffectCachedDocument() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+        assertThrows(TransformationException.class, () -> processor.transform("$$", JSON_ARRAY));
+        assertThrows(TransformationException.class, () -> processor.transform("$[5].id", JSON_ARRAY));
+        assertEquals("alice", processor.transform("$[1].name", JSON_ARRAY));
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A bounded cache of compiled regular expressions, which can be used concurrently.
+ *
+ * When the cache is full, an arbitrary pattern is evicted. Transformations usually use a small, fixed set of
+ * expressions, so the cache only overflows if expressions are built dynamically, e.g. in rules.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+class RegExPatternCache {
+
+    /**
+     * Cache statistics
+     *
+     * @param size number of cached patterns
+     * @param hits number of lookups which found a cached pattern
+     * @param misses number of lookups which had to compile the pattern
+     * @param evictions number of patterns removed because the cache was full
+     */
+    record Statistics(int size, long hits, long misses, long evictions) {
+    }
+
+    private record Key(String regex, int flags) {
+    }
+
+    private final int maxSize;
+    private final Map<Key, Pattern> patterns = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize maximum number of cached patterns
+     */
+    RegExPatternCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the compiled pattern, compiling and caching it if necessary.
+     *
+     * @param regex the regular expression
+     * @param flags the match flags, see {@link Pattern#compile(String, int)}
+     * @return the compiled pattern
+     * @throws java.util.regex.PatternSyntaxException if the expression is invalid
+     */
+    Pattern get(String regex, int flags) {
+        Key key = new Key(regex, flags);
+        Pattern pattern = patterns.get(key);
+        if (pattern != null) {
+            hits.increment();
+            return pattern;
+        }
+        misses.increment();
+        pattern = Pattern.compile(regex, flags);
+        if (patterns.size() >= maxSize) {
+            Iterator<Key> iterator = patterns.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+        patterns.put(key, pattern);
+        return pattern;
+    }
+
+    Statistics getStatistics() {
+        return new Statistics(patterns.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    void clear() {
+        patterns.clear();
+    }
+}
@@ -20,6 +20,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +40,9 @@ public class RegExTransformationService implements TransformationService {
     private final Logger logger = LoggerFactory.getLogger(RegExTransformationService.class);
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
+    private static final int MAX_CACHED_PATTERNS = 512;
+
+    private final RegExPatternCache patternCache = new RegExPatternCache(MAX_CACHED_PATTERNS);
 
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
@@ -56,17 +60,18 @@ public class RegExTransformationService implements TransformationService {
             String regex = substMatcher.group(1);
             String substitution = substMatcher.group(2);
             String options = substMatcher.group(3);
+            Matcher replaceMatcher = getPattern(regex, 0).matcher(source.trim());
             if ("g".equals(options)) {
-                result = source.trim().replaceAll(regex, substitution);
+                result = replaceMatcher.replaceAll(substitution);
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
+                result = replaceMatcher.replaceFirst(substitution);
             }
             if (result != null) {
                 return result;
             }
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = getPattern("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -94,4 +99,24 @@ public class RegExTransformationService implements TransformationService {
 
         return result;
     }
+
+    /**
+     * Returns the statistics of the compiled pattern cache
+     */
+    RegExPatternCache.Statistics getPatternCacheStatistics() {
+        return patternCache.getStatistics();
+    }
+
+    @Deactivate
+    public void deactivate() {
+        patternCache.clear();
+    }
+
+    private Pattern getPattern(String regex, int flags) {
+        Pattern pattern = patternCache.get(regex, flags);
+        if (logger.isTraceEnabled()) {
+            logger.trace("pattern cache: {}", patternCache.getStatistics());
+        }
+        return pattern;
+    }
 }
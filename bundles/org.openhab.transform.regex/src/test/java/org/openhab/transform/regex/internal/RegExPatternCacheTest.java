@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link RegExPatternCache}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class RegExPatternCacheTest {
+
+    @Test
+    public void testPatternIsCompiledOnce() {
+        RegExPatternCache cache = new RegExPatternCache(10);
+
+        Pattern first = cache.get("a(.*)", 0);
+        Pattern second = cache.get("a(.*)", 0);
+
+        assertSame(first, second);
+        assertEquals(new RegExPatternCache.Statistics(1, 1, 1, 0), cache.getStatistics());
+    }
+
+    @Test
+    public void testFlagsArePartOfKey() {
+        RegExPatternCache cache = new RegExPatternCache(10);
+
+        Pattern plain = cache.get("a.b", 0);
+        Pattern dotAll = cache.get("a.b", Pattern.DOTALL);
+
+        assertNotSame(plain, dotAll);
+        assertEquals(Pattern.DOTALL, dotAll.flags());
+        assertEquals(new RegExPatternCache.Statistics(2, 0, 2, 0), cache.getStatistics());
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        RegExPatternCache cache = new RegExPatternCache(3);
+
+        for (int i = 0; i < 10; i++) {
+            cache.get("value" + i, 0);
+        }
+
+        assertEquals(new RegExPatternCache.Statistics(3, 0, 10, 7), cache.getStatistics());
+    }
+
+    @Test
+    public void testInvalidPatternIsNotCached() {
+        RegExPatternCache cache = new RegExPatternCache(10);
+
+        assertThrows(PatternSyntaxException.class, () -> cache.get("(", 0));
+
+        assertEquals(0, cache.getStatistics().size());
+    }
+}
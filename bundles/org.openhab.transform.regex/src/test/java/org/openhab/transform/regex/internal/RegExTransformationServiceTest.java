@@ -75,4 +75,18 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testCompiledPatternsAreReused() throws TransformationException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("8", processor.transform(".*?<current_conditions>.*?<temp_c data=\"(.*?)\".*", source));
+            assertEquals("a-b-c", processor.transform("s/ /-/g", "a b c"));
+            assertEquals("a-b c", processor.transform("s/ /-/", "a b c"));
+        }
+
+        RegExPatternCache.Statistics statistics = processor.getPatternCacheStatistics();
+        assertEquals(2, statistics.size());
+        assertEquals(2, statistics.misses());
+        assertEquals(7, statistics.hits());
+    }
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A compiled scale definition.
+ *
+ * All range limits of the definition split the number line into elementary segments: the limits themselves and the
+ * open intervals between them. Every range either contains an elementary segment completely or not at all, so the
+ * label of the first range (in definition order) containing a segment is resolved once when compiling. A lookup then
+ * only has to find the segment of a value by a binary search over the sorted limits.
+ *
+ * If all limits have at most {@value #MAX_DOUBLE_DIGITS} significant digits, lookups for plain decimal inputs with at
+ * most as many digits are done on doubles without creating a {@link BigDecimal}. Such decimals are exactly
+ * distinguishable as doubles and rounding preserves their order, so the result is identical.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+class ScaleTable {
+    /** Number of significant decimal digits which always survive a conversion to double and back */
+    static final int MAX_DOUBLE_DIGITS = 15;
+
+    /** Longest input considered for the double path, keeping its magnitude far from the double limits */
+    private static final int MAX_DOUBLE_LENGTH = 40;
+
+    private final BigDecimal[] limits;
+    private final double @Nullable [] doubleLimits;
+    /** Label of the limit with the same index */
+    private final @Nullable String[] limitLabels;
+    /** Label of the open interval below the limit with the same index, the last one is above all limits */
+    private final @Nullable String[] intervalLabels;
+    private final String format;
+    private final @Nullable String nonNumeric;
+
+    /**
+     * @param ranges the ranges with their labels, in the order of the definition
+     * @param format the presentation format of the label
+     * @param nonNumeric the label for non numeric inputs, if any
+     */
+    ScaleTable(Map<Range, String> ranges, String format, @Nullable String nonNumeric) {
+        this.format = format;
+        this.nonNumeric = nonNumeric;
+
+        TreeSet<BigDecimal> sortedLimits = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range.min != null) {
+                sortedLimits.add(range.min);
+            }
+            if (range.max != null) {
+                sortedLimits.add(range.max);
+            }
+        }
+        limits = sortedLimits.toArray(new BigDecimal[0]);
+        limitLabels = new String[limits.length];
+        intervalLabels = new String[limits.length + 1];
+
+        List<Map.Entry<Range, String>> entries = new ArrayList<>(ranges.entrySet());
+        for (int i = 0; i < limits.length; i++) {
+            limitLabels[i] = firstLabelContaining(entries, limits[i]);
+        }
+        for (int i = 0; i <= limits.length; i++) {
+            BigDecimal lower = i == 0 ? null : limits[i - 1];
+            BigDecimal upper = i == limits.length ? null : limits[i];
+            intervalLabels[i] = firstLabelContaining(entries, lower, upper);
+        }
+
+        double[] doubles = new double[limits.length];
+        for (int i = 0; i < limits.length; i++) {
+            BigDecimal limit = limits[i];
+            double value = limit.doubleValue();
+            if (limit.precision() > MAX_DOUBLE_DIGITS || Double.isInfinite(value)
+                    || limit.signum() != 0 && Math.abs(value) < Double.MIN_NORMAL) {
+                doubles = null;
+                break;
+            }
+            doubles[i] = value;
+        }
+        doubleLimits = doubles;
+    }
+
+    private static @Nullable String firstLabelContaining(List<Map.Entry<Range, String>> entries, BigDecimal value) {
+        for (Map.Entry<Range, String> entry : entries) {
+            if (entry.getKey().contains(value)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the first range containing the open interval between two adjacent limits, where <code>null</code>
+     * stands for an unbounded side. As the interval contains no limit, it is contained by a range if and only if
+     * the range reaches at least to both of its ends.
+     */
+    private static @Nullable String firstLabelContaining(List<Map.Entry<Range, String>> entries,
+            @Nullable BigDecimal lower, @Nullable BigDecimal upper) {
+        for (Map.Entry<Range, String> entry : entries) {
+            Range range = entry.getKey();
+            boolean lowerMatch = range.min == null || lower != null && range.min.compareTo(lower) <= 0;
+            boolean upperMatch = range.max == null || upper != null && range.max.compareTo(upper) >= 0;
+            if (lowerMatch && upperMatch) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    String getFormat() {
+        return format;
+    }
+
+    @Nullable
+    String getNonNumeric() {
+        return nonNumeric;
+    }
+
+    /**
+     * Returns the label of the first range containing the given numeric input.
+     *
+     * @param source the input
+     * @return the label, or <code>null</code> if no range contains the input
+     * @throws NumberFormatException if the input is not a plain decimal number
+     */
+    @Nullable
+    String lookup(String source) {
+        double[] doubles = doubleLimits;
+        if (doubles != null) {
+            double value = parseShortDecimal(source);
+            if (!Double.isNaN(value)) {
+                return lookup(doubles, value);
+            }
+        }
+        return lookup(new BigDecimal(source));
+    }
+
+    /**
+     * Returns the label of the first range containing the given value.
+     *
+     * @param value the value
+     * @return the label, or <code>null</code> if no range contains the value
+     */
+    @Nullable
+    String lookup(BigDecimal value) {
+        int low = 0;
+        int high = limits.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = limits[mid].compareTo(value);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return limitLabels[mid];
+            }
+        }
+        return intervalLabels[low];
+    }
+
+    private @Nullable String lookup(double[] doubles, double value) {
+        // primitive comparisons, so that -0.0 and 0.0 are equal like for BigDecimal
+        int low = 0;
+        int high = doubles.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            double limit = doubles[mid];
+            if (limit < value) {
+                low = mid + 1;
+            } else if (limit > value) {
+                high = mid - 1;
+            } else {
+                return limitLabels[mid];
+            }
+        }
+        return intervalLabels[low];
+    }
+
+    /**
+     * Parses a plain decimal number (optional sign, digits and an optional fraction) with at most
+     * {@value #MAX_DOUBLE_DIGITS} significant digits.
+     *
+     * @return the value, or {@link Double#NaN} if the input does not qualify for the double path
+     */
+    static double parseShortDecimal(String source) {
+        int length = source.length();
+        if (length == 0 || length > MAX_DOUBLE_LENGTH) {
+            return Double.NaN;
+        }
+        int i = 0;
+        char first = source.charAt(0);
+        if (first == '-' || first == '+') {
+            i++;
+        }
+        int digits = 0;
+        int significantDigits = 0;
+        boolean point = false;
+        for (; i < length; i++) {
+            char c = source.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (significantDigits > 0 || c != '0') {
+                    significantDigits++;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (digits == 0 || significantDigits > MAX_DOUBLE_DIGITS) {
+            return Double.NaN;
+        }
+        return Double.parseDouble(source);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests the {@link ScaleTable}.
+ *
+ * @author Stepiiis - Initial contribution
+ */
+@NonNullByDefault
+public class ScaleTableTest {
+
+    private static ScaleTable table(Range... ranges) {
+        Map<Range, String> data = new LinkedHashMap<>();
+        for (int i = 0; i < ranges.length; i++) {
+            data.put(ranges[i], "r" + i);
+        }
+        return new ScaleTable(data, "%label%", null);
+    }
+
+    private static BigDecimal dec(String value) {
+        return new BigDecimal(value);
+    }
+
+    private static @Nullable String linearLookup(Map<Range, String> data, String source) {
+        BigDecimal value = new BigDecimal(source);
+        return data.entrySet().stream().filter(entry -> entry.getKey().contains(value)).findFirst()
+                .map(Map.Entry::getValue).orElse(null);
+    }
+
+    @Test
+    public void overlappingRangesResolveToFirstMatch() {
+        // same as evaluationorder.scale: ]..15[ [10..17[ [15..[
+        ScaleTable table = table(Range.lessThan(dec("15")), Range.closedOpen(dec("10"), dec("17")),
+                Range.atLeast(dec("15")));
+
+        assertEquals("r0", table.lookup("-1000"));
+        assertEquals("r0", table.lookup("10"));
+        assertEquals("r0", table.lookup("14.999"));
+        assertEquals("r1", table.lookup("15"));
+        assertEquals("r1", table.lookup("16.5"));
+        assertEquals("r2", table.lookup("17"));
+        assertEquals("r2", table.lookup("1000000"));
+    }
+
+    @Test
+    public void limitsRespectInclusiveness() {
+        ScaleTable table = table(Range.open(dec("0"), dec("10")), Range.closed(dec("10"), dec("20")));
+
+        assertNull(table.lookup("0"));
+        assertNull(table.lookup("-0.0"));
+        assertEquals("r0", table.lookup("0.001"));
+        assertEquals("r1", table.lookup("10"));
+        assertEquals("r1", table.lookup("10.0"));
+        assertEquals("r1", table.lookup("20"));
+        assertNull(table.lookup("20.000000000000000001"));
+        assertNull(table.lookup("21"));
+    }
+
+    @Test
+    public void emptyTableMatchesNothing() {
+        ScaleTable table = table();
+
+        assertNull(table.lookup("1"));
+        assertNull(table.lookup(BigDecimal.ONE));
+    }
+
+    @Test
+    public void invalidInputIsRejected() {
+        ScaleTable table = table(Range.all());
+
+        assertThrows(NumberFormatException.class, () -> table.lookup("azerty"));
+        assertThrows(NumberFormatException.class, () -> table.lookup("."));
+        assertThrows(NumberFormatException.class, () -> table.lookup(""));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0.1", "0.3", "0.30000000000000001", "0.29999999999999999", "0.2999999999999999",
+            "-0", "+5", ".5", "5.", "1e2", "3E+2", "100", "99999999999999.9", "0.1000000000000001", "-8", "300" })
+    public void doubleAndDecimalLookupAgree(String source) {
+        Map<Range, String> data = new LinkedHashMap<>();
+        data.put(Range.closedOpen(dec("-8"), dec("0.1")), "low");
+        data.put(Range.closed(dec("0.1"), dec("0.3")), "tenths");
+        data.put(Range.openClosed(dec("0.3"), dec("1E+2")), "middle");
+        data.put(Range.greaterThan(dec("99999999999999.8")), "extreme");
+        data.put(Range.atLeast(dec("1")), "shadowed");
+        ScaleTable table = new ScaleTable(data, "%label%", null);
+
+        assertEquals(linearLookup(data, source), table.lookup(source));
+        assertEquals(linearLookup(data, source), table.lookup(new BigDecimal(source)));
+    }
+
+    @Test
+    public void parseShortDecimalOnlyAcceptsExactlyDistinguishableInputs() {
+        assertEquals(12.5, ScaleTable.parseShortDecimal("12.5"));
+        assertEquals(-0.001, ScaleTable.parseShortDecimal("-0.001"));
+        assertEquals(123456789012345.0, ScaleTable.parseShortDecimal("123456789012345"));
+
+        assertTrue(Double.isNaN(ScaleTable.parseShortDecimal("1234567890123456")));
+        assertTrue(Double.isNaN(ScaleTable.parseShortDecimal("1e2")));
+        assertTrue(Double.isNaN(ScaleTable.parseShortDecimal("1.2.3")));
+        assertTrue(Double.isNaN(ScaleTable.parseShortDecimal("-")));
+        assertTrue(Double.isNaN(ScaleTable.parseShortDecimal("NaN")));
+        assertTrue(Double.isNaN(ScaleTable.parseShortDecimal(" 1")));
+    }
+}
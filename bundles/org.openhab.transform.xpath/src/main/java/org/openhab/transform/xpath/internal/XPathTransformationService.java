@@ -12,13 +12,18 @@
  */
 package org.openhab.transform.xpath.internal;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -30,19 +35,89 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * Neither {@link DocumentBuilder} nor {@link XPathExpression} are thread-safe, so every thread keeps its own parser
+ * and its own compiled expressions. The last parsed documents are shared by all threads, so transformations of the
+ * same input, e.g. several channels reading values from one response, only parse the document once. A DOM is not
+ * thread-safe either, even for reading, so a document is evaluated by one thread at a time.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_EXPRESSIONS = 256;
+    private static final int MAX_CACHED_DOCUMENTS = 8;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final ThreadLocal<ParserContext> parserContext = ThreadLocal.withInitial(ParserContext::new);
+    private final Map<String, Document> documents = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, Document> eldest) {
+            return size() > MAX_CACHED_DOCUMENTS;
+        }
+    };
+
+    /**
+     * The parser and the compiled expressions of a thread
+     */
+    private static class ParserContext {
+        private @Nullable DocumentBuilder builder;
+        private final XPath xpath = XPathFactory.newInstance().newXPath();
+        private final Map<String, XPathExpression> expressions = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, XPathExpression> eldest) {
+                return size() > MAX_CACHED_EXPRESSIONS;
+            }
+        };
+
+        Document parse(String source) throws ParserConfigurationException, SAXException, IOException {
+            try (StringReader stringReader = new StringReader(source)) {
+                InputSource inputSource = new InputSource(stringReader);
+                inputSource.setEncoding("UTF-8");
+                return getBuilder().parse(inputSource);
+            }
+        }
+
+        XPathExpression compile(String xpathExpression) throws XPathExpressionException {
+            XPathExpression expression = expressions.get(xpathExpression);
+            if (expression == null) {
+                expression = xpath.compile(xpathExpression);
+                expressions.put(xpathExpression, expression);
+            }
+            return expression;
+        }
+
+        private DocumentBuilder getBuilder() throws ParserConfigurationException {
+            DocumentBuilder localBuilder = builder;
+            if (localBuilder == null) {
+                DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+                // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
+                domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+                domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+                domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+                domFactory.setXIncludeAware(false);
+                domFactory.setExpandEntityReferences(false);
+                domFactory.setNamespaceAware(true);
+                domFactory.setValidating(false);
+                localBuilder = domFactory.newDocumentBuilder();
+                builder = localBuilder;
+            }
+            return localBuilder;
+        }
+    }
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -51,40 +126,35 @@ public class XPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-        StringReader stringReader = null;
-
+        ParserContext context = parserContext.get();
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
-            domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            domFactory.setXIncludeAware(false);
-            domFactory.setExpandEntityReferences(false);
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
-
-            stringReader = new StringReader(source);
-            InputSource inputSource = new InputSource(stringReader);
-            inputSource.setEncoding("UTF-8");
-
-            Document doc = builder.parse(inputSource);
-
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
-
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            Document doc = getDocument(context, source);
+            XPathExpression expr = context.compile(xpathExpression);
+            String transformationResult;
+            synchronized (doc) {
+                transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
             return transformationResult;
         } catch (Exception e) {
             throw new TransformationException("transformation throws exceptions", e);
-        } finally {
-            if (stringReader != null) {
-                stringReader.close();
+        }
+    }
+
+    private Document getDocument(ParserContext context, String source)
+            throws ParserConfigurationException, SAXException, IOException {
+        synchronized (documents) {
+            Document document = documents.get(source);
+            if (document != null) {
+                return document;
             }
         }
+        Document document = context.parse(source);
+        synchronized (documents) {
+            documents.put(source, document);
+        }
+        return document;
     }
 }
@@ -14,6 +14,13 @@ package org.openhab.transform.xpath.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
@@ -38,4 +45,38 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testConcurrentTransformsOfSameSource() throws Exception {
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(() -> processor.transform("//forecast_information/city/@data", source));
+            tasks.add(() -> processor.transform("count(//forecast_conditions)", source));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = executor.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i += 2) {
+                assertEquals("Krefeld, North Rhine-Westphalia", results.get(i).get());
+                assertEquals("4", results.get(i + 1).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRepeatedTransformWithChangedSource() throws TransformationException {
+        assertEquals("1", processor.transform("/root/value", "<root><value>1</value></root>"));
+        assertEquals("1", processor.transform("/root/value", "<root><value>1</value></root>"));
+        assertEquals("2", processor.transform("/root/value", "<root><value>2</value></root>"));
+    }
+
+    @Test
+    public void testInvalidInputDoesNotAffectFollowingTransforms() throws TransformationException {
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+        assertThrows(TransformationException.class, () -> processor.transform("/root/value", "<root>"));
+        assertThrows(TransformationException.class, () -> processor.transform("//[", source));
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+    }
 }
@@ -12,22 +12,28 @@
  */
 package org.openhab.transform.xslt.internal;
 
-import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.openhab.core.OpenHAB;
+import org.openhab.core.service.WatchService;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,14 +41,72 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
  *
+ * Compiled stylesheets are cached per file and dropped from the cache when the file is changed or deleted in the
+ * transform folder.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XSLT" })
-public class XsltTransformationService implements TransformationService {
+public class XsltTransformationService implements TransformationService, WatchService.WatchEventListener {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final WatchService watchService;
+    private final Path transformFolder;
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private final Map<Path, CompiledStylesheet> stylesheetCache = new ConcurrentHashMap<>();
+
+    /**
+     * A compiled stylesheet, providing a reusable {@link Transformer} per thread.
+     *
+     * The thread local values become unreachable together with this object when it is removed from the cache.
+     */
+    private static class CompiledStylesheet {
+        private final Templates templates;
+        private final ThreadLocal<@Nullable Transformer> transformer = new ThreadLocal<>();
+
+        CompiledStylesheet(Templates templates) {
+            this.templates = templates;
+        }
+
+        Transformer getTransformer() throws TransformerConfigurationException {
+            Transformer localTransformer = transformer.get();
+            if (localTransformer == null) {
+                localTransformer = templates.newTransformer();
+                transformer.set(localTransformer);
+            } else {
+                localTransformer.reset();
+            }
+            return localTransformer;
+        }
+    }
+
+    @Activate
+    public XsltTransformationService(
+            final @Reference(target = WatchService.CONFIG_WATCHER_FILTER) WatchService watchService) {
+        this.watchService = watchService;
+        this.transformFolder = watchService.getWatchPath().resolve(TransformationService.TRANSFORM_FOLDER_NAME);
+        watchService.registerListener(this, Path.of(TransformationService.TRANSFORM_FOLDER_NAME));
+    }
+
+    @Deactivate
+    public void deactivate() {
+        watchService.unregisterListener(this);
+        stylesheetCache.clear();
+    }
+
+    @Override
+    public void processWatchEvent(WatchService.Kind kind, Path path) {
+        synchronized (transformerFactory) {
+            // the cache is keyed by absolute paths, which end with the (absolute or relative) path of the event
+            if (stylesheetCache.keySet().removeIf(file -> file.endsWith(path))) {
+                logger.debug("Stylesheet '{}' has been {}, removed it from the cache", path,
+                        kind == WatchService.Kind.DELETE ? "deleted" : "changed");
+            }
+        }
+    }
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,12 +124,10 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        CompiledStylesheet stylesheet;
 
         try {
-            String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
-                    + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            stylesheet = getStylesheet(transformFolder.resolve(filename).normalize());
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -73,15 +135,13 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException(message, e);
         }
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+        logger.debug("about to transform '{}' by the function '{}'", source, filename);
 
         StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
-
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
+            Transformer transformer = stylesheet.getTransformer();
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
@@ -92,4 +152,22 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    private CompiledStylesheet getStylesheet(Path file) throws TransformerConfigurationException {
+        CompiledStylesheet stylesheet = stylesheetCache.get(file);
+        if (stylesheet != null) {
+            return stylesheet;
+        }
+        // TransformerFactory is not thread-safe. Compiling while holding the lock also prevents that a stylesheet
+        // compiled from an outdated file is added to the cache after the watch event for the change
+        synchronized (transformerFactory) {
+            stylesheet = stylesheetCache.get(file);
+            if (stylesheet == null) {
+                logger.debug("Compiling stylesheet '{}'", file);
+                stylesheet = new CompiledStylesheet(transformerFactory.newTemplates(new StreamSource(file.toFile())));
+                stylesheetCache.put(file, stylesheet);
+            }
+            return stylesheet;
+        }
+    }
 }
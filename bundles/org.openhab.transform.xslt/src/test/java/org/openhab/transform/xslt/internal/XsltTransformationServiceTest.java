@@ -13,6 +13,7 @@
 package org.openhab.transform.xslt.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -23,6 +24,7 @@ import java.nio.file.StandardCopyOption;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.service.WatchService;
 import org.openhab.core.transform.TransformationException;
 
 /**
@@ -40,7 +42,9 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
             Files.createDirectories(transformHttpPath);
         }
 
-        processor = new XsltTransformationService();
+        WatchService watchService = mock(WatchService.class);
+        when(watchService.getWatchPath()).thenReturn(Paths.get(OpenHAB.getConfigFolder()));
+        processor = new XsltTransformationService(watchService);
     }
 
     @Test
@@ -54,4 +58,30 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testCompiledStylesheetIsCachedUntilFileChanges() throws TransformationException, IOException {
+        Path stylesheet = transformHttpPath.resolve("cached.xsl");
+        Files.copy(getClass().getResourceAsStream("google_weather.xsl"), stylesheet,
+                StandardCopyOption.REPLACE_EXISTING);
+        assertEquals("8", processor.transform("http/cached.xsl", source));
+
+        Files.writeString(stylesheet, """
+                <xsl:stylesheet xmlns:xsl="http://www.w3.org/1999/XSL/Transform" version="1.0">
+                <xsl:output method="text" />
+                <xsl:template match="/">changed</xsl:template>
+                </xsl:stylesheet>
+                """);
+
+        // without a watch event, the cached stylesheet is used
+        assertEquals("8", processor.transform("http/cached.xsl", source));
+
+        processor.processWatchEvent(WatchService.Kind.MODIFY, Path.of("transform", "http", "cached.xsl"));
+        assertEquals("changed", processor.transform("http/cached.xsl", source));
+    }
+
+    @Test
+    public void testMissingStylesheet() {
+        assertThrows(TransformationException.class, () -> processor.transform("http/missing.xsl", source));
+    }
 }